@@ -0,0 +1,62 @@
+package ru.practicum.shareit.benchmark;
+
+import lombok.experimental.UtilityClass;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.comment.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Detached entity graphs for the benchmarks that do not need a database. Every call with the same arguments
+ * builds the same data, so runs stay comparable.
+ */
+@UtilityClass
+public class BenchmarkData {
+    public static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    public static User user(long id) {
+        return new User(id, "user" + id, "user" + id + "@mail.ru");
+    }
+
+    public static Item item(long id, User owner, ItemRequest request) {
+        return new Item(id, "Дрель " + id, "Простая дрель номер " + id + " с набором свёрл", owner, true, request);
+    }
+
+    public static ItemRequest request(long id, User author) {
+        return new ItemRequest(id, "Нужна дрель на выходные " + id, author, NOW.minusDays(id));
+    }
+
+    public static Booking booking(long id, Item item, User booker, LocalDateTime start) {
+        return new Booking(id, start, start.plusDays(2), item, booker, BookingStatus.APPROVED);
+    }
+
+    public static List<Comment> comments(Item item, int count) {
+        List<Comment> comments = new ArrayList<>(count);
+        for (long i = 1; i <= count; i++) {
+            comments.add(new Comment(i, "Отличная вещь, спасибо " + i, item, user(1000 + i), NOW.minusDays(i)));
+        }
+        return comments;
+    }
+
+    public static List<Item> items(int count, User owner, ItemRequest request) {
+        List<Item> items = new ArrayList<>(count);
+        for (long i = 1; i <= count; i++) {
+            items.add(item(i, owner, request));
+        }
+        return items;
+    }
+
+    public static List<Booking> bookings(int count, User owner, User booker) {
+        List<Booking> bookings = new ArrayList<>(count);
+        for (long i = 1; i <= count; i++) {
+            bookings.add(booking(i, item(i, owner, null), booker, NOW.minusDays(i)));
+        }
+        return bookings;
+    }
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.benchmark;
+
+import ch.qos.logback.core.OutputStreamAppender;
+
+import java.io.OutputStream;
+
+/**
+ * Formats every event like a console appender would, stack traces included, but throws the bytes away,
+ * so benchmarks pay the real logging cost without flooding the JMH output.
+ */
+public class DiscardingAppender<E> extends OutputStreamAppender<E> {
+    @Override
+    public void start() {
+        setOutputStream(OutputStream.nullOutputStream());
+        super.start();
+    }
+}
@@ -0,0 +1,125 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.dto.BookingDtoInfo;
+import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.ItemBookingView;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.comment.Comment;
+import ru.practicum.shareit.item.dto.ItemDtoInfo;
+import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.dto.ItemOfferView;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dto.ItemRequestDtoInfo;
+import ru.practicum.shareit.request.dto.ItemRequestMapper;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+    @Param({"0", "10", "100"})
+    private int comments;
+    @Param({"10"})
+    private int offers;
+    private Item item;
+    private Booking lastBooking;
+    private Booking nextBooking;
+    private ItemBookingView lastBookingView;
+    private ItemBookingView nextBookingView;
+    private List<Comment> itemComments;
+    private ItemRequest request;
+    private List<ItemOfferView> requestOffers;
+
+    @Setup
+    public void setUp() {
+        User owner = BenchmarkData.user(1);
+        User booker = BenchmarkData.user(2);
+        item = BenchmarkData.item(1, owner, null);
+        lastBooking = BenchmarkData.booking(1, item, booker, BenchmarkData.NOW.minusDays(5));
+        nextBooking = BenchmarkData.booking(2, item, booker, BenchmarkData.NOW.plusDays(5));
+        lastBookingView = view(lastBooking);
+        nextBookingView = view(nextBooking);
+        itemComments = BenchmarkData.comments(item, comments);
+        request = BenchmarkData.request(1, booker);
+        requestOffers = BenchmarkData.items(offers, owner, request).stream()
+                .map(MapperBenchmark::offer)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public ItemDtoInfo itemDtoInfoFromBookings() {
+        return ItemMapper.convertToItemDtoInfo(item, lastBooking, nextBooking, itemComments);
+    }
+
+    @Benchmark
+    public ItemDtoInfo itemDtoInfoFromViews() {
+        return ItemMapper.convertToItemDtoInfo(item, lastBookingView, nextBookingView, itemComments);
+    }
+
+    @Benchmark
+    public BookingDtoInfo bookingDtoInfo() {
+        return BookingMapper.convertToBookingDtoInfo(lastBooking);
+    }
+
+    @Benchmark
+    public ItemRequestDtoInfo itemRequestDtoInfo() {
+        return ItemRequestMapper.toItemRequestDtoInfo(request, requestOffers);
+    }
+
+    private static ItemBookingView view(Booking booking) {
+        return new ItemBookingView() {
+            @Override
+            public Long getItemId() {
+                return booking.getItem().getId();
+            }
+
+            @Override
+            public Long getId() {
+                return booking.getId();
+            }
+
+            @Override
+            public Long getBookerId() {
+                return booking.getBooker().getId();
+            }
+        };
+    }
+
+    private static ItemOfferView offer(Item item) {
+        return new ItemOfferView() {
+            @Override
+            public Long getId() {
+                return item.getId();
+            }
+
+            @Override
+            public String getName() {
+                return item.getName();
+            }
+
+            @Override
+            public String getDescription() {
+                return item.getDescription();
+            }
+
+            @Override
+            public Boolean getAvailable() {
+                return item.getAvailable();
+            }
+
+            @Override
+            public Long getRequestId() {
+                return item.getRequest().getId();
+            }
+        };
+    }
+}
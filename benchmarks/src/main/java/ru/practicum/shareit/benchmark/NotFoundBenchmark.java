@@ -0,0 +1,74 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import ru.practicum.shareit.exception.ErrorHandler;
+import ru.practicum.shareit.exception.ErrorResponse;
+import ru.practicum.shareit.exception.NotFoundException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Cost of answering a 404: the exception is thrown {@code depth} frames below the handler (a Spring MVC request
+ * is roughly a hundred frames deep) and then logged and turned into an {@link ErrorResponse}.
+ * {@code stackTraceException} reproduces the previous handling: a RuntimeException that captures its stack
+ * trace, logged at info together with it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NotFoundBenchmark {
+    private static final Logger LEGACY_LOG = LoggerFactory.getLogger(ErrorHandler.class);
+    private static final String MESSAGE = "Вещь с id - 42 не найдена";
+
+    @Param({"20", "120"})
+    private int depth;
+    private ErrorHandler handler;
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        handler = new ErrorHandler();
+        request = new MockHttpServletRequest("GET", "/items/42");
+    }
+
+    @Benchmark
+    public ErrorResponse stackTraceException() {
+        try {
+            throwAt(depth, LegacyNotFoundException::new);
+        } catch (LegacyNotFoundException e) {
+            LEGACY_LOG.info(e.getMessage(), e);
+            return new ErrorResponse("NotFoundException", e.getMessage());
+        }
+        throw new IllegalStateException();
+    }
+
+    @Benchmark
+    public ErrorResponse domainException() {
+        try {
+            throwAt(depth, NotFoundException::new);
+        } catch (NotFoundException e) {
+            return handler.handleNotFound(e, request);
+        }
+        throw new IllegalStateException();
+    }
+
+    private static void throwAt(int depth, Function<String, RuntimeException> exception) {
+        if (depth == 0) {
+            throw exception.apply(MESSAGE);
+        }
+        throwAt(depth - 1, exception);
+    }
+
+    private static class LegacyNotFoundException extends RuntimeException {
+        LegacyNotFoundException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.dto.BookingDtoInfo;
+import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.item.dto.ItemDtoInfo;
+import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Serialization of the list responses with the mapper configuration Spring MVC uses for the controllers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+    @Param({"10", "100", "1000"})
+    private int size;
+    private ObjectWriter itemWriter;
+    private ObjectWriter bookingWriter;
+    private List<ItemDtoInfo> items;
+    private List<BookingDtoInfo> bookings;
+
+    @Setup
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        itemWriter = builder.build().writerFor(new TypeReference<List<ItemDtoInfo>>() {
+        });
+        bookingWriter = builder.build().writerFor(new TypeReference<List<BookingDtoInfo>>() {
+        });
+        User owner = BenchmarkData.user(1);
+        User booker = BenchmarkData.user(2);
+        items = BenchmarkData.items(size, owner, null).stream()
+                .map(item -> toItemDtoInfo(item, booker))
+                .collect(Collectors.toList());
+        bookings = BenchmarkData.bookings(size, owner, booker).stream()
+                .map(BookingMapper::convertToBookingDtoInfo)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public byte[] itemDtoInfoList() throws JsonProcessingException {
+        return itemWriter.writeValueAsBytes(items);
+    }
+
+    @Benchmark
+    public byte[] bookingDtoInfoList() throws JsonProcessingException {
+        return bookingWriter.writeValueAsBytes(bookings);
+    }
+
+    private static ItemDtoInfo toItemDtoInfo(Item item, User booker) {
+        return ItemMapper.convertToItemDtoInfo(item,
+                BenchmarkData.booking(item.getId() * 2, item, booker, BenchmarkData.NOW.minusDays(3)),
+                BenchmarkData.booking(item.getId() * 2 + 1, item, booker, BenchmarkData.NOW.plusDays(3)),
+                BenchmarkData.comments(item, 3));
+    }
+}
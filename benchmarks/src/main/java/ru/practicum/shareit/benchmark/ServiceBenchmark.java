@@ -0,0 +1,131 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.dto.BookingDtoInfo;
+import ru.practicum.shareit.booking.dto.GetAllBookingsRequest;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.storage.BookingStorage;
+import ru.practicum.shareit.item.comment.Comment;
+import ru.practicum.shareit.item.comment.CommentStorage;
+import ru.practicum.shareit.item.dto.ItemDtoInfo;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.storage.ItemStorage;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.storage.UserStorage;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The two list endpoints with the most work per request, run against the H2 ("test" profile) database
+ * seeded with one owner, {@code items} of their items and {@code bookingsPerItem} bookings per item.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ServiceBenchmark {
+    private static final int BOOKERS = 20;
+    private static final int COMMENTS_PER_ITEM = 3;
+
+    @Param({"100", "1000"})
+    private int items;
+    @Param({"10"})
+    private int bookingsPerItem;
+    @Param({"20"})
+    private int pageSize;
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private ItemService itemService;
+    private Long ownerId;
+    private Long bookerId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .profiles("test")
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .properties("logging.level.org.hibernate=WARN",
+                        "logging.level.org.springframework=WARN")
+                .run();
+        bookingService = context.getBean(BookingService.class);
+        itemService = context.getBean(ItemService.class);
+        seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BookingDtoInfo> bookingsByOwner() {
+        return bookingService.getAll(GetAllBookingsRequest.of(
+                ru.practicum.shareit.booking.model.State.ALL, ownerId, true, 0, pageSize));
+    }
+
+    @Benchmark
+    public List<BookingDtoInfo> bookingsByBooker() {
+        return bookingService.getAll(GetAllBookingsRequest.of(
+                ru.practicum.shareit.booking.model.State.ALL, bookerId, false, 0, pageSize));
+    }
+
+    @Benchmark
+    public List<ItemDtoInfo> itemsByOwner() {
+        return itemService.getAllByUser(ownerId, 0, pageSize);
+    }
+
+    private void seed() {
+        UserStorage userStorage = context.getBean(UserStorage.class);
+        ItemStorage itemStorage = context.getBean(ItemStorage.class);
+        BookingStorage bookingStorage = context.getBean(BookingStorage.class);
+        CommentStorage commentStorage = context.getBean(CommentStorage.class);
+
+        User owner = userStorage.save(new User(null, "owner", "owner@mail.ru"));
+        List<User> bookers = new ArrayList<>(BOOKERS);
+        for (int i = 0; i < BOOKERS; i++) {
+            bookers.add(new User(null, "booker" + i, "booker" + i + "@mail.ru"));
+        }
+        bookers = userStorage.saveAll(bookers);
+
+        List<Item> ownerItems = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            ownerItems.add(new Item(null, "Дрель " + i, "Простая дрель номер " + i, owner, true, null));
+        }
+        ownerItems = itemStorage.saveAll(ownerItems);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Booking> bookings = new ArrayList<>(items * bookingsPerItem);
+        List<Comment> comments = new ArrayList<>(items * COMMENTS_PER_ITEM);
+        for (int i = 0; i < ownerItems.size(); i++) {
+            Item item = ownerItems.get(i);
+            for (int j = 0; j < bookingsPerItem; j++) {
+                LocalDateTime start = now.plusDays(3L * (j - bookingsPerItem / 2)).plusHours(i % 24);
+                bookings.add(new Booking(null, start, start.plusDays(2), item,
+                        bookers.get((i + j) % BOOKERS), BookingStatus.APPROVED));
+            }
+            for (int j = 0; j < COMMENTS_PER_ITEM; j++) {
+                comments.add(new Comment(null, "Отличная вещь " + j, item, bookers.get((i + j) % BOOKERS),
+                        now.minusDays(j)));
+            }
+        }
+        bookingStorage.saveAll(bookings);
+        commentStorage.saveAll(comments);
+
+        ownerId = owner.getId();
+        bookerId = bookers.get(0).getId();
+    }
+}
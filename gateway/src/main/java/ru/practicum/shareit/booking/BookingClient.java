@@ -2,17 +2,23 @@ package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
-import ru.practicum.shareit.booking.dto.BookingDtoInfo;
 import ru.practicum.shareit.booking.dto.GetAllBookingsRequest;
+import ru.practicum.shareit.client.DownstreamMetrics;
+import ru.practicum.shareit.client.PassThrough;
 import ru.practicum.shareit.exception.ExchangeFilterFnc;
 
 import java.util.List;
+import java.util.Optional;
 
 @Service
 public class BookingClient {
@@ -21,25 +27,30 @@ public class BookingClient {
     private static final String BOOKING_ID_PARAM = "/{bookingId}";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl,
+                         ClientHttpConnector shareItServerConnector,
+                         DownstreamMetrics downstreamMetrics) {
         this.webClient = WebClient.builder()
+                .clientConnector(shareItServerConnector)
                 .filter(ExchangeFilterFnc.errorHandler())
+                .filter(downstreamMetrics.filter("bookings"))
                 .baseUrl(serverUrl + "/bookings")
                 .build();
     }
 
-    public ResponseEntity<BookingDtoInfo> save(BookingDto bookingDto, Long userId) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> save(BookingDto bookingDto, Long userId) {
 
         return webClient
                 .post()
                 .header(HEADER, String.valueOf(userId))
                 .body(BodyInserters.fromValue(bookingDto))
+                .attribute(DownstreamMetrics.ENDPOINT, "save")
                 .retrieve()
-                .toEntity(BookingDtoInfo.class)
-                .block();
+                .toEntityFlux(DataBuffer.class)
+                .map(PassThrough::forward);
     }
 
-    public ResponseEntity<BookingDtoInfo> updateStatusOwner(Long id, Boolean approved, Long ownerId) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> updateStatusOwner(Long id, Boolean approved, Long ownerId) {
 
         return webClient
                 .patch()
@@ -48,12 +59,26 @@ public class BookingClient {
                         .queryParam("approved", approved)
                         .build(id))
                 .header(HEADER, String.valueOf(ownerId))
+                .attribute(DownstreamMetrics.ENDPOINT, "updateStatusOwner")
                 .retrieve()
-                .toEntity(BookingDtoInfo.class)
-                .block();
+                .toEntityFlux(DataBuffer.class)
+                .map(PassThrough::forward);
     }
 
-    public ResponseEntity<BookingDtoInfo> get(Long id, Long userId) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> updateStatusOwner(List<BookingDecisionDto> decisions,
+                                                                    Long ownerId) {
+
+        return webClient
+                .patch()
+                .header(HEADER, String.valueOf(ownerId))
+                .body(BodyInserters.fromValue(decisions))
+                .attribute(DownstreamMetrics.ENDPOINT, "updateStatusOwnerBatch")
+                .retrieve()
+                .toEntityFlux(DataBuffer.class)
+                .map(PassThrough::forward);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> get(Long id, Long userId) {
 
         return webClient
                 .get()
@@ -61,12 +86,13 @@ public class BookingClient {
                         .path(BOOKING_ID_PARAM)
                         .build(id))
                 .header(HEADER, String.valueOf(userId))
+                .attribute(DownstreamMetrics.ENDPOINT, "get")
                 .retrieve()
-                .toEntity(BookingDtoInfo.class)
-                .block();
+                .toEntityFlux(DataBuffer.class)
+                .map(PassThrough::forward);
     }
 
-    public ResponseEntity<List<BookingDtoInfo>> getAll(GetAllBookingsRequest request) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAll(GetAllBookingsRequest request) {
         if (request.isOwner()) {
             return webClient
                     .get()
@@ -75,12 +101,13 @@ public class BookingClient {
                             .queryParam("state", request.getState().name())
                             .queryParam("from", request.getFrom())
                             .queryParam("size", request.getSize())
+                            .queryParamIfPresent("cursor", Optional.ofNullable(request.getCursor()))
                             .build())
                     .header(HEADER, String.valueOf(request.getUserId()))
+                    .attribute(DownstreamMetrics.ENDPOINT, "getAll")
                     .retrieve()
-                    .toEntity(new ParameterizedTypeReference<List<BookingDtoInfo>>() {
-                    })
-                    .block();
+                    .toEntityFlux(DataBuffer.class)
+                    .map(PassThrough::forward);
         }
         return webClient
                 .get()
@@ -88,11 +115,12 @@ public class BookingClient {
                         .queryParam("state", request.getState().name())
                         .queryParam("from", request.getFrom())
                         .queryParam("size", request.getSize())
+                        .queryParamIfPresent("cursor", Optional.ofNullable(request.getCursor()))
                         .build())
                 .header(HEADER, String.valueOf(request.getUserId()))
+                .attribute(DownstreamMetrics.ENDPOINT, "getAll")
                 .retrieve()
-                .toEntity(new ParameterizedTypeReference<List<BookingDtoInfo>>() {
-                })
-                .block();
+                .toEntityFlux(DataBuffer.class)
+                .map(PassThrough::forward);
     }
 }
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.*;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class BookingDecisionDto {
+    @NotNull
+    @Positive
+    private Long bookingId;
+    @NotNull
+    private Boolean approved;
+}
@@ -1,38 +0,0 @@
-package ru.practicum.shareit.booking.dto;
-
-import lombok.*;
-import ru.practicum.shareit.booking.model.BookingStatus;
-
-import java.time.LocalDateTime;
-
-@Getter
-@Setter
-@AllArgsConstructor
-@NoArgsConstructor
-@ToString
-public class BookingDtoInfo {
-    private Long id;
-    private LocalDateTime start;
-    private LocalDateTime end;
-    private BookingStatus status;
-    private Item item;
-    private User booker;
-
-    @Getter
-    @Setter
-    @AllArgsConstructor
-    @NoArgsConstructor
-    @EqualsAndHashCode
-    public static class Item {
-        private Long id;
-        private String name;
-    }
-
-    @Getter
-    @Setter
-    @AllArgsConstructor
-    @NoArgsConstructor
-    public static class User {
-        private Long id;
-    }
-}
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * Times the calls to shareit-server per client and endpoint, up to the response headers: response bodies are
+ * streamed to the caller, so their transfer is part of the gateway's own request timing.
+ */
+@Component
+public class DownstreamMetrics {
+    public static final String TIMER = "shareit.gateway.downstream";
+    public static final String ENDPOINT = DownstreamMetrics.class.getName() + ".endpoint";
+    private final MeterRegistry registry;
+
+    public DownstreamMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Must be registered after the error handling filter so that it sees the actual response status.
+     */
+    public ExchangeFilterFunction filter(String client) {
+        return (request, next) -> Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(registry);
+            String endpoint = request.attribute(ENDPOINT).map(String::valueOf).orElse("unknown");
+            return next.exchange(request)
+                    .doOnSuccess(response -> stop(sample, client, endpoint,
+                            String.valueOf(response.rawStatusCode())))
+                    .doOnError(e -> stop(sample, client, endpoint, e.getClass().getSimpleName()));
+        });
+    }
+
+    private void stop(Timer.Sample sample, String client, String endpoint, String outcome) {
+        sample.stop(Timer.builder(TIMER)
+                .tag("client", client)
+                .tag("endpoint", endpoint)
+                .tag("status", outcome)
+                .publishPercentileHistogram()
+                .register(registry));
+    }
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.client;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Flux;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Forwards shareit-server responses to the caller as they are: the body stays a stream of raw
+ * {@link DataBuffer}s and the headers are copied, except for the hop-by-hop ones that describe
+ * the gateway-to-server connection only.
+ */
+@UtilityClass
+public class PassThrough {
+    private static final Set<String> HOP_BY_HOP_HEADERS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        HOP_BY_HOP_HEADERS.addAll(Set.of(HttpHeaders.CONNECTION, "Keep-Alive", HttpHeaders.PROXY_AUTHENTICATE,
+                HttpHeaders.PROXY_AUTHORIZATION, HttpHeaders.TE, HttpHeaders.TRAILER, HttpHeaders.TRANSFER_ENCODING,
+                HttpHeaders.UPGRADE));
+    }
+
+    public static ResponseEntity<Flux<DataBuffer>> forward(ResponseEntity<Flux<DataBuffer>> response) {
+        HttpHeaders headers = new HttpHeaders();
+        response.getHeaders().forEach((name, values) -> {
+            if (!HOP_BY_HOP_HEADERS.contains(name)) {
+                headers.addAll(name, values);
+            }
+        });
+        return new ResponseEntity<>(response.getBody(), headers, response.getStatusCode());
+    }
+}
@@ -2,12 +2,13 @@ package ru.practicum.shareit.exception;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.springframework.beans.TypeMismatchException;
 import org.springframework.http.HttpStatus;
-import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
-import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebInputException;
 
 @Slf4j
 @RestControllerAdvice
@@ -28,7 +29,7 @@ public class ErrorHandler {
 
     @ExceptionHandler
     @ResponseStatus(HttpStatus.BAD_REQUEST)
-    public ErrorResponse handleMethodArgumentNotValid(MethodArgumentNotValidException e) {
+    public ErrorResponse handleMethodArgumentNotValid(WebExchangeBindException e) {
         log.info(e.getMessage(), e);
         return new ErrorResponse("MethodArgumentNotValidException", e.getMessage());
     }
@@ -49,9 +50,12 @@ public class ErrorHandler {
 
     @ExceptionHandler
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
-    public ErrorResponse handleIllegalArgument(MethodArgumentTypeMismatchException e) {
+    public ErrorResponse handleIllegalArgument(ServerWebInputException e) {
         log.info(e.getMessage(), e);
-        return new ErrorResponse("Unknown state: UNSUPPORTED_STATUS", e.getMessage());
+        if (e.getCause() instanceof TypeMismatchException) {
+            return new ErrorResponse("Unknown state: UNSUPPORTED_STATUS", e.getMessage());
+        }
+        return new ErrorResponse("Unknown error", e.getMessage());
     }
 
     @ExceptionHandler
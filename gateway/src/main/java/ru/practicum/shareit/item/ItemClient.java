@@ -2,18 +2,20 @@ package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.DownstreamMetrics;
+import ru.practicum.shareit.client.PassThrough;
 import ru.practicum.shareit.exception.ExchangeFilterFnc;
 import ru.practicum.shareit.item.comment.dto.CommentDto;
-import ru.practicum.shareit.item.comment.dto.CommentDtoInfo;
 import ru.practicum.shareit.item.dto.ItemDto;
-import ru.practicum.shareit.item.dto.ItemDtoInfo;
-
-import java.util.List;
 
 @Service
 public class ItemClient {
@@ -23,25 +25,45 @@ public class ItemClient {
     private static final String ITEM_ID_PARAM = "/{itemId}";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl,
+                      ClientHttpConnector shareItServerConnector,
+                      DownstreamMetrics downstreamMetrics) {
         this.webClient = WebClient.builder()
+                .clientConnector(shareItServerConnector)
                 .filter(ExchangeFilterFnc.errorHandler())
+                .filter(downstreamMetrics.filter("items"))
                 .baseUrl(serverUrl + "/items")
                 .build();
     }
 
-    public ResponseEntity<ItemDto> save(ItemDto itemDto, Long userId) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> save(ItemDto itemDto, Long userId) {
 
         return webClient
                 .post()
                 .header(HEADER, String.valueOf(userId))
                 .body(BodyInserters.fromValue(itemDto))
+                .attribute(DownstreamMetrics.ENDPOINT, "save")
                 .retrieve()
-                .toEntity(ItemDto.class)
-                .block();
+                .toEntityFlux(DataBuffer.class)
+                .map(PassThrough::forward);
     }
 
-    public ResponseEntity<ItemDto> update(String updatedFields, Long itemId, Long userId) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> importItems(Flux<DataBuffer> body, MediaType contentType,
+                                                              Long userId) {
+
+        return webClient
+                .post()
+                .uri("/import")
+                .header(HEADER, String.valueOf(userId))
+                .contentType(contentType)
+                .body(BodyInserters.fromDataBuffers(body))
+                .attribute(DownstreamMetrics.ENDPOINT, "importItems")
+                .retrieve()
+                .toEntityFlux(DataBuffer.class)
+                .map(PassThrough::forward);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> update(String updatedFields, Long itemId, Long userId) {
 
         return webClient
                 .patch()
@@ -50,12 +72,13 @@ public class ItemClient {
                         .build(itemId))
                 .header(HEADER, String.valueOf(userId))
                 .body(BodyInserters.fromValue(updatedFields))
+                .attribute(DownstreamMetrics.ENDPOINT, "update")
                 .retrieve()
-                .toEntity(ItemDto.class)
-                .block();
+                .toEntityFlux(DataBuffer.class)
+                .map(PassThrough::forward);
     }
 
-    public ResponseEntity<ItemDtoInfo> get(Long id, Long userId) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> get(Long id, Long userId) {
 
         return webClient
                 .get()
@@ -63,12 +86,13 @@ public class ItemClient {
                         .path(ITEM_ID_PARAM)
                         .build(id))
                 .header(HEADER, String.valueOf(userId))
+                .attribute(DownstreamMetrics.ENDPOINT, "get")
                 .retrieve()
-                .toEntity(ItemDtoInfo.class)
-                .block();
+                .toEntityFlux(DataBuffer.class)
+                .map(PassThrough::forward);
     }
 
-    public ResponseEntity<List<ItemDtoInfo>> getAllByUser(Long userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllByUser(Long userId, Integer from, Integer size) {
 
         return webClient
                 .get()
@@ -77,25 +101,26 @@ public class ItemClient {
                         .queryParam("size", size)
                         .build())
                 .header(HEADER, String.valueOf(userId))
+                .attribute(DownstreamMetrics.ENDPOINT, "getAllByUser")
                 .retrieve()
-                .toEntity(new ParameterizedTypeReference<List<ItemDtoInfo>>() {
-                })
-                .block();
+                .toEntityFlux(DataBuffer.class)
+                .map(PassThrough::forward);
     }
 
-    public void delete(Long id, Long userId) {
-        webClient
+    public Mono<Void> delete(Long id, Long userId) {
+        return webClient
                 .delete()
                 .uri(uriBuilder -> uriBuilder
                         .path(ITEM_ID_PARAM)
                         .build(id))
                 .header(HEADER, String.valueOf(userId))
+                .attribute(DownstreamMetrics.ENDPOINT, "delete")
                 .retrieve()
                 .toBodilessEntity()
-                .block();
+                .then();
     }
 
-    public ResponseEntity<List<ItemDto>> searchItem(String text, Long userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> searchItem(String text, Long userId, Integer from, Integer size) {
         return webClient
                 .get()
                 .uri(uriBuilder -> uriBuilder
@@ -105,13 +130,13 @@ public class ItemClient {
                         .queryParam("text", text)
                         .build())
                 .header(HEADER, String.valueOf(userId))
+                .attribute(DownstreamMetrics.ENDPOINT, "searchItem")
                 .retrieve()
-                .toEntity(new ParameterizedTypeReference<List<ItemDto>>() {
-                })
-                .block();
+                .toEntityFlux(DataBuffer.class)
+                .map(PassThrough::forward);
     }
 
-    public ResponseEntity<CommentDtoInfo> saveComment(Long itemId, CommentDto commentDto, Long userId) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> saveComment(Long itemId, CommentDto commentDto, Long userId) {
 
         return webClient
                 .post()
@@ -120,8 +145,9 @@ public class ItemClient {
                         .build(itemId))
                 .header(HEADER, String.valueOf(userId))
                 .body(BodyInserters.fromValue(commentDto))
+                .attribute(DownstreamMetrics.ENDPOINT, "saveComment")
                 .retrieve()
-                .toEntity(CommentDtoInfo.class)
-                .block();
+                .toEntityFlux(DataBuffer.class)
+                .map(PassThrough::forward);
     }
 }
@@ -1,41 +0,0 @@
-package ru.practicum.shareit.item.dto;
-
-import lombok.*;
-
-import java.time.LocalDateTime;
-import java.util.List;
-
-@Getter
-@Setter
-@AllArgsConstructor
-@NoArgsConstructor
-@ToString
-public class ItemDtoInfo {
-    private Long id;
-    private String name;
-    private String description;
-    private Boolean available;
-    private Booking lastBooking;
-    private Booking nextBooking;
-    private List<Comment> comments;
-
-    @Getter
-    @Setter
-    @AllArgsConstructor
-    @NoArgsConstructor
-    public static class Booking {
-        private Long id;
-        private Long bookerId;
-    }
-
-    @Getter
-    @Setter
-    @AllArgsConstructor
-    @NoArgsConstructor
-    public static class Comment {
-        private Long id;
-        private String text;
-        private String authorName;
-        private LocalDateTime created;
-    }
-}
@@ -2,16 +2,18 @@ package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.DownstreamMetrics;
+import ru.practicum.shareit.client.PassThrough;
 import ru.practicum.shareit.exception.ExchangeFilterFnc;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
-import ru.practicum.shareit.request.dto.ItemRequestDtoInfo;
-
-import java.util.List;
 
 @Service
 public class ItemRequestClient {
@@ -20,14 +22,18 @@ public class ItemRequestClient {
     private static final String HEADER = "X-Sharer-User-Id";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl) {
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl,
+                             ClientHttpConnector shareItServerConnector,
+                             DownstreamMetrics downstreamMetrics) {
         this.webClient = WebClient.builder()
+                .clientConnector(shareItServerConnector)
                 .filter(ExchangeFilterFnc.errorHandler())
+                .filter(downstreamMetrics.filter("requests"))
                 .baseUrl(serverUrl + "/requests")
                 .build();
     }
 
-    public ResponseEntity<List<ItemRequestDtoInfo>> getOwn(Long userId, int from, int size) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getOwn(Long userId, int from, int size) {
         return webClient
                 .get()
                 .uri(uriBuilder -> uriBuilder
@@ -35,13 +41,13 @@ public class ItemRequestClient {
                         .queryParam("size", size)
                         .build())
                 .header(HEADER, String.valueOf(userId))
+                .attribute(DownstreamMetrics.ENDPOINT, "getOwn")
                 .retrieve()
-                .toEntity(new ParameterizedTypeReference<List<ItemRequestDtoInfo>>() {
-                })
-                .block();
+                .toEntityFlux(DataBuffer.class)
+                .map(PassThrough::forward);
     }
 
-    public ResponseEntity<List<ItemRequestDtoInfo>> getAllOtherUser(Long userId, int from, int size) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllOtherUser(Long userId, int from, int size) {
         return webClient
                 .get()
                 .uri(uriBuilder -> uriBuilder
@@ -50,31 +56,33 @@ public class ItemRequestClient {
                         .queryParam("size", size)
                         .build())
                 .header(HEADER, String.valueOf(userId))
+                .attribute(DownstreamMetrics.ENDPOINT, "getAllOtherUser")
                 .retrieve()
-                .toEntity(new ParameterizedTypeReference<List<ItemRequestDtoInfo>>() {
-                })
-                .block();
+                .toEntityFlux(DataBuffer.class)
+                .map(PassThrough::forward);
     }
 
-    public ResponseEntity<ItemRequestDtoInfo> get(Long requestId, Long userId) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> get(Long requestId, Long userId) {
         return webClient
                 .get()
                 .uri(uriBuilder -> uriBuilder
                         .path("/{requestId}")
                         .build(requestId))
                 .header(HEADER, String.valueOf(userId))
+                .attribute(DownstreamMetrics.ENDPOINT, "get")
                 .retrieve()
-                .toEntity(ItemRequestDtoInfo.class)
-                .block();
+                .toEntityFlux(DataBuffer.class)
+                .map(PassThrough::forward);
     }
 
-    public ResponseEntity<ItemRequestDto> save(ItemRequestDto itemRequestDto, Long authorId) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> save(ItemRequestDto itemRequestDto, Long authorId) {
         return webClient
                 .post()
                 .header(HEADER, String.valueOf(authorId))
                 .body(BodyInserters.fromValue(itemRequestDto))
+                .attribute(DownstreamMetrics.ENDPOINT, "save")
                 .retrieve()
-                .toEntity(ItemRequestDto.class)
-                .block();
+                .toEntityFlux(DataBuffer.class)
+                .map(PassThrough::forward);
     }
 }
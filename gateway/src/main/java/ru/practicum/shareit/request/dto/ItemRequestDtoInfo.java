@@ -1,30 +0,0 @@
-package ru.practicum.shareit.request.dto;
-
-import lombok.*;
-
-import java.time.LocalDateTime;
-import java.util.List;
-
-@Getter
-@Setter
-@AllArgsConstructor
-@NoArgsConstructor
-@ToString
-public class ItemRequestDtoInfo {
-    private Long id;
-    private String description;
-    private LocalDateTime created;
-    private List<Item> items;
-
-    @Getter
-    @Setter
-    @AllArgsConstructor
-    @NoArgsConstructor
-    public static class Item {
-        private Long id;
-        private String name;
-        private String description;
-        private boolean available;
-        private Long requestId;
-    }
-}
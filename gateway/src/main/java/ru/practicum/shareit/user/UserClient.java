@@ -2,15 +2,18 @@ package ru.practicum.shareit.user;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.DownstreamMetrics;
+import ru.practicum.shareit.client.PassThrough;
 import ru.practicum.shareit.exception.ExchangeFilterFnc;
 
-import java.util.List;
-
 @Service
 public class UserClient {
 
@@ -18,63 +21,71 @@ public class UserClient {
     private static final String USER_ID_PARAM = "/{userId}";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl,
+                      ClientHttpConnector shareItServerConnector,
+                      DownstreamMetrics downstreamMetrics) {
         this.webClient = WebClient.builder()
+                .clientConnector(shareItServerConnector)
                 .filter(ExchangeFilterFnc.errorHandler())
+                .filter(downstreamMetrics.filter("users"))
                 .baseUrl(serverUrl + "/users")
                 .build();
     }
 
-    public ResponseEntity<List<UserDto>> getAll() {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAll() {
         return webClient
                 .get()
+                .attribute(DownstreamMetrics.ENDPOINT, "getAll")
                 .retrieve()
-                .toEntity(new ParameterizedTypeReference<List<UserDto>>() {
-                })
-                .block();
+                .toEntityFlux(DataBuffer.class)
+                .map(PassThrough::forward);
     }
 
-    public ResponseEntity<UserDto> get(Long userId) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> get(Long userId) {
 
         return webClient
                 .get()
                 .uri(uriBuilder -> uriBuilder
                         .path(USER_ID_PARAM)
                         .build(userId))
+                .attribute(DownstreamMetrics.ENDPOINT, "get")
                 .retrieve()
-                .toEntity(UserDto.class)
-                .block();
+                .toEntityFlux(DataBuffer.class)
+                .map(PassThrough::forward);
     }
 
-    public void delete(Long userId) {
-        webClient
+    public Mono<Void> delete(Long userId) {
+        return webClient
                 .delete()
                 .uri(uriBuilder -> uriBuilder
                         .path(USER_ID_PARAM)
                         .build(userId))
+                .attribute(DownstreamMetrics.ENDPOINT, "delete")
                 .retrieve()
                 .toBodilessEntity()
-                .block();
+                .then();
     }
 
-    public ResponseEntity<UserDto> save(UserDto userDto) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> save(UserDto userDto) {
         return webClient
                 .post()
                 .body(BodyInserters.fromValue(userDto))
+                .attribute(DownstreamMetrics.ENDPOINT, "save")
                 .retrieve()
-                .toEntity(UserDto.class)
-                .block();
+                .toEntityFlux(DataBuffer.class)
+                .map(PassThrough::forward);
     }
 
-    public ResponseEntity<UserDto> update(Long userId, String updatedFields) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> update(Long userId, String updatedFields) {
         return webClient
                 .patch()
                 .uri(uriBuilder -> uriBuilder
                         .path(USER_ID_PARAM)
                         .build(userId))
                 .body(BodyInserters.fromValue(updatedFields))
+                .attribute(DownstreamMetrics.ENDPOINT, "update")
                 .retrieve()
-                .toEntity(UserDto.class)
-                .block();
+                .toEntityFlux(DataBuffer.class)
+                .map(PassThrough::forward);
     }
 }
@@ -2,12 +2,14 @@ package ru.practicum.shareit.user;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import javax.validation.Valid;
-import java.util.List;
 
 @Validated
 @RestController
@@ -23,32 +25,32 @@ public class UserController {
     }
 
     @GetMapping
-    public ResponseEntity<List<UserDto>> getAll() {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAll() {
         log.info("Get users");
         return client.getAll();
     }
 
     @GetMapping("/{userId}")
-    public ResponseEntity<UserDto> get(@PathVariable Long userId) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> get(@PathVariable Long userId) {
         log.info("Get user {}", userId);
         return client.get(userId);
     }
 
     @PostMapping
-    public ResponseEntity<UserDto> save(@RequestBody @Valid UserDto userDto) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> save(@RequestBody @Valid UserDto userDto) {
         return client.save(userDto);
     }
 
     @PatchMapping("/{userId}")
-    public ResponseEntity<UserDto> update(@PathVariable Long userId,
-                                          @RequestBody String updatedFields) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> update(@PathVariable Long userId,
+                                                         @RequestBody String updatedFields) {
         log.info("Update user {} fields {}", userId, updatedFields);
         return client.update(userId, updatedFields);
     }
 
     @DeleteMapping("/{userId}")
-    public void delete(@PathVariable Long userId) {
+    public Mono<Void> delete(@PathVariable Long userId) {
         log.info("Delete user {}", userId);
-        client.delete(userId);
+        return client.delete(userId);
     }
 }
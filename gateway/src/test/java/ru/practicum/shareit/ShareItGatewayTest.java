@@ -0,0 +1,21 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.embedded.netty.NettyWebServer;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ShareItGatewayTest {
+
+    @Autowired
+    private ReactiveWebServerApplicationContext context;
+
+    @Test
+    void runsOnReactorNetty() {
+        assertThat(context.getWebServer()).isInstanceOf(NettyWebServer.class);
+    }
+}
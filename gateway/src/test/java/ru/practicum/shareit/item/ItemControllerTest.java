@@ -0,0 +1,34 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import static org.mockito.Mockito.*;
+
+@WebFluxTest(ItemController.class)
+class ItemControllerTest {
+
+    @Autowired
+    private WebTestClient webClient;
+    @MockBean
+    private ItemClient client;
+
+    @Test
+    void delete() {
+        when(client.delete(1L, 2L)).thenReturn(Mono.empty());
+
+        webClient.delete()
+                .uri("/items/{itemId}", 1)
+                .header("X-Sharer-User-Id", "2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().isEmpty();
+
+        verify(client, times(1))
+                .delete(1L, 2L);
+    }
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.load;
+
+import lombok.Getter;
+
+import java.util.Random;
+
+/**
+ * Shape of the seeded data. Ids are assigned in insertion order starting from 1, so they can be derived
+ * instead of being read back: the first tenth of the users own all items, the rest book and comment them.
+ */
+@Getter
+public class Dataset {
+    private final int users;
+    private final int owners;
+    private final int items;
+    private final int bookings;
+    private final int comments;
+    private final int requests;
+
+    public Dataset(LoadTestConfig config) {
+        if (config.getUsers() < 2 || config.getItems() < 1) {
+            throw new IllegalArgumentException("At least two users and one item are required");
+        }
+        this.users = config.getUsers();
+        this.owners = Math.max(1, users / 10);
+        this.items = config.getItems();
+        this.bookings = config.getBookings();
+        this.comments = config.getComments();
+        this.requests = config.getRequests();
+    }
+
+    public long ownerOf(long itemId) {
+        return (itemId - 1) % owners + 1;
+    }
+
+    public long itemOfBooking(long bookingId) {
+        return (bookingId - 1) % items + 1;
+    }
+
+    public long bookerOfBooking(long bookingId) {
+        return owners + (bookingId - 1) % (users - owners) + 1;
+    }
+
+    public Long requestOfItem(long itemId) {
+        if (requests == 0 || itemId % 5 != 0) {
+            return null;
+        }
+        return (itemId / 5 - 1) % requests + 1;
+    }
+
+    public long randomOwner(Random random) {
+        return random.nextInt(owners) + 1;
+    }
+
+    public long randomBooker(Random random) {
+        return owners + random.nextInt(users - owners) + 1;
+    }
+
+    public long randomUser(Random random) {
+        return random.nextInt(users) + 1;
+    }
+
+    public long randomItem(Random random) {
+        return random.nextInt(items) + 1;
+    }
+
+    public long randomRequest(Random random) {
+        return random.nextInt(Math.max(1, requests)) + 1;
+    }
+
+    public long randomBooking(Random random) {
+        return random.nextInt(Math.max(1, bookings)) + 1;
+    }
+}
@@ -0,0 +1,156 @@
+package ru.practicum.shareit.load;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+/**
+ * Creates the schema with the server's own migrations and fills it with JDBC batches before the server starts,
+ * so the server warms its in-memory indexes up from the seeded data. The database is new, so the generated ids
+ * follow insertion order, which is what {@link Dataset} relies on.
+ */
+@Slf4j
+public class DatasetSeeder {
+    private static final int BATCH_SIZE = 1_000;
+    private static final String[] WORDS = {"дрель", "пила", "лестница", "палатка", "велосипед", "проектор",
+            "перфоратор", "шуруповёрт", "самокат", "гитара", "камера", "штатив", "drill", "tent", "bike"};
+    private final LoadTestConfig config;
+    private final Dataset dataset;
+
+    public DatasetSeeder(LoadTestConfig config, Dataset dataset) {
+        this.config = config;
+        this.dataset = dataset;
+    }
+
+    public void seed() throws SQLException {
+        Flyway.configure()
+                .dataSource(config.getJdbcUrl(), "test", "test")
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+        Random random = new Random(config.getSeed());
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        try (Connection connection = DriverManager.getConnection(config.getJdbcUrl(), "test", "test")) {
+            connection.setAutoCommit(false);
+            seedUsers(connection);
+            seedRequests(connection, random, now);
+            seedItems(connection, random);
+            advanceItemsSequence(connection);
+            seedBookings(connection, random, now);
+            seedComments(connection, random, now);
+            connection.commit();
+        }
+        log.info("Seeded {} users, {} requests, {} items, {} bookings, {} comments", dataset.getUsers(),
+                dataset.getRequests(), dataset.getItems(), dataset.getBookings(), dataset.getComments());
+    }
+
+    private void seedUsers(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "insert into users (user_name, email) values (?, ?)")) {
+            for (long id = 1; id <= dataset.getUsers(); id++) {
+                statement.setString(1, "user" + id);
+                statement.setString(2, "user" + id + "@load.test");
+                addBatch(statement, id);
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private void seedRequests(Connection connection, Random random, LocalDateTime now) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "insert into requests (description, author_id, created) values (?, ?, ?)")) {
+            for (long id = 1; id <= dataset.getRequests(); id++) {
+                statement.setString(1, "Нужна " + word(random) + " на выходные");
+                statement.setLong(2, dataset.randomBooker(random));
+                statement.setTimestamp(3, Timestamp.valueOf(now.minusHours(random.nextInt(24 * 90))));
+                addBatch(statement, id);
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private void seedItems(Connection connection, Random random) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("insert into items "
+                + "(item_name, description, owner_id, available, request_id) values (?, ?, ?, ?, ?)")) {
+            for (long id = 1; id <= dataset.getItems(); id++) {
+                String name = word(random);
+                statement.setString(1, name + " " + id);
+                statement.setString(2, "Хорошая " + name + ", " + word(random) + " в подарок");
+                statement.setLong(3, dataset.ownerOf(id));
+                statement.setBoolean(4, random.nextInt(10) != 0);
+                statement.setObject(5, dataset.requestOfItem(id), Types.BIGINT);
+                addBatch(statement, id);
+            }
+            statement.executeBatch();
+        }
+    }
+
+    /**
+     * The seeded items take their ids from the identity column, but the server allocates item ids from
+     * {@code items_seq} in blocks of 50. Hibernate's pooled optimizer hands out the 49 ids below the value it reads,
+     * so the sequence has to restart 50 past the last seeded id, as the Postgres migration does with setval.
+     */
+    private static void advanceItemsSequence(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            long maxId;
+            try (ResultSet resultSet = statement.executeQuery("select coalesce(max(item_id), 0) from items")) {
+                resultSet.next();
+                maxId = resultSet.getLong(1);
+            }
+            statement.execute("alter sequence items_seq restart with " + (maxId + 50));
+        }
+    }
+
+    private void seedBookings(Connection connection, Random random, LocalDateTime now) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("insert into bookings "
+                + "(start_date, end_date, booker_id, item_id, status) values (?, ?, ?, ?, ?)")) {
+            for (long id = 1; id <= dataset.getBookings(); id++) {
+                long slot = (id - 1) / dataset.getItems();
+                LocalDateTime start = now.minusDays(180).plusDays(3 * slot).plusHours(random.nextInt(24));
+                statement.setTimestamp(1, Timestamp.valueOf(start));
+                statement.setTimestamp(2, Timestamp.valueOf(start.plusDays(1 + random.nextInt(2))));
+                statement.setLong(3, dataset.bookerOfBooking(id));
+                statement.setLong(4, dataset.itemOfBooking(id));
+                statement.setString(5, status(random));
+                addBatch(statement, id);
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private void seedComments(Connection connection, Random random, LocalDateTime now) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("insert into comments "
+                + "(text, author_id, item_id, created) values (?, ?, ?, ?)")) {
+            for (long id = 1; id <= dataset.getComments(); id++) {
+                statement.setString(1, "Отличная " + word(random) + ", всё работает");
+                statement.setLong(2, dataset.randomBooker(random));
+                statement.setLong(3, dataset.randomItem(random));
+                statement.setTimestamp(4, Timestamp.valueOf(now.minusHours(random.nextInt(24 * 180))));
+                addBatch(statement, id);
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private static void addBatch(PreparedStatement statement, long id) throws SQLException {
+        statement.addBatch();
+        if (id % BATCH_SIZE == 0) {
+            statement.executeBatch();
+        }
+    }
+
+    private static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private static String status(Random random) {
+        int value = random.nextInt(10);
+        if (value < 7) {
+            return "APPROVED";
+        }
+        return value < 9 ? "WAITING" : "REJECTED";
+    }
+}
@@ -0,0 +1,103 @@
+package ru.practicum.shareit.load;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+/**
+ * Gateway calls the load test mixes, with their default share of the traffic. Reads dominate,
+ * as they do for a catalogue-style service.
+ */
+public enum Endpoint {
+    GET_ITEM(25) {
+        @Override
+        HttpRequest.Builder request(String baseUrl, Dataset dataset, Random random) {
+            return get(baseUrl + "/items/" + dataset.randomItem(random), dataset.randomUser(random));
+        }
+    },
+    GET_OWNER_ITEMS(10) {
+        @Override
+        HttpRequest.Builder request(String baseUrl, Dataset dataset, Random random) {
+            return get(baseUrl + "/items?from=0&size=20", dataset.randomOwner(random));
+        }
+    },
+    SEARCH_ITEMS(20) {
+        @Override
+        HttpRequest.Builder request(String baseUrl, Dataset dataset, Random random) {
+            String text = SEARCH_TEXTS[random.nextInt(SEARCH_TEXTS.length)];
+            return get(baseUrl + "/items/search?from=0&size=20&text=" + text, dataset.randomUser(random));
+        }
+    },
+    GET_BOOKING(10) {
+        @Override
+        HttpRequest.Builder request(String baseUrl, Dataset dataset, Random random) {
+            long bookingId = dataset.randomBooking(random);
+            return get(baseUrl + "/bookings/" + bookingId, dataset.bookerOfBooking(bookingId));
+        }
+    },
+    GET_BOOKER_BOOKINGS(10) {
+        @Override
+        HttpRequest.Builder request(String baseUrl, Dataset dataset, Random random) {
+            return get(baseUrl + "/bookings?state=" + randomState(random) + "&from=0&size=20",
+                    dataset.randomBooker(random));
+        }
+    },
+    GET_OWNER_BOOKINGS(10) {
+        @Override
+        HttpRequest.Builder request(String baseUrl, Dataset dataset, Random random) {
+            return get(baseUrl + "/bookings/owner?state=" + randomState(random) + "&from=0&size=20",
+                    dataset.randomOwner(random));
+        }
+    },
+    GET_OTHER_REQUESTS(5) {
+        @Override
+        HttpRequest.Builder request(String baseUrl, Dataset dataset, Random random) {
+            return get(baseUrl + "/requests/all?from=0&size=20", dataset.randomUser(random));
+        }
+    },
+    GET_USER(5) {
+        @Override
+        HttpRequest.Builder request(String baseUrl, Dataset dataset, Random random) {
+            return get(baseUrl + "/users/" + dataset.randomUser(random), dataset.randomUser(random));
+        }
+    },
+    CREATE_BOOKING(5) {
+        @Override
+        HttpRequest.Builder request(String baseUrl, Dataset dataset, Random random) {
+            LocalDateTime start = LocalDateTime.now().plusDays(400 + random.nextInt(3650)).withNano(0);
+            String body = String.format("{\"itemId\": %d, \"start\": \"%s\", \"end\": \"%s\"}",
+                    dataset.randomItem(random), start, start.plusDays(1));
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/bookings"))
+                    .header(USER_HEADER, String.valueOf(dataset.randomBooker(random)))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body));
+        }
+    };
+
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final String[] SEARCH_TEXTS = {"дрель", "пила", "палат", "велосипед", "проектор", "drill",
+            "tent", "гитара"};
+    private static final String[] STATES = {"ALL", "CURRENT", "FUTURE", "PAST", "WAITING", "REJECTED"};
+    private final int defaultWeight;
+
+    Endpoint(int defaultWeight) {
+        this.defaultWeight = defaultWeight;
+    }
+
+    public int getDefaultWeight() {
+        return defaultWeight;
+    }
+
+    abstract HttpRequest.Builder request(String baseUrl, Dataset dataset, Random random);
+
+    private static HttpRequest.Builder get(String uri, long userId) {
+        return HttpRequest.newBuilder(URI.create(uri))
+                .header(USER_HEADER, String.valueOf(userId))
+                .GET();
+    }
+
+    private static String randomState(Random random) {
+        return STATES[random.nextInt(STATES.length)];
+    }
+}
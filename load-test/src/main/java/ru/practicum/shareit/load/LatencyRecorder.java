@@ -0,0 +1,65 @@
+package ru.practicum.shareit.load;
+
+import java.util.Arrays;
+
+/**
+ * Response times and outcomes of one endpoint, recorded by a single worker thread; workers' recorders are merged
+ * for the report. 4xx answers are counted apart from failures: an empty booking list is a 404 in this API.
+ */
+public class LatencyRecorder {
+    private long[] latencies = new long[1024];
+    private int count;
+    private int clientErrors;
+    private int failures;
+
+    /**
+     * @param status HTTP status of the response, or -1 when no response was received
+     */
+    public void record(long latencyNanos, int status) {
+        add(latencyNanos);
+        if (status >= 400 && status < 500) {
+            clientErrors++;
+        } else if (status < 0 || status >= 500) {
+            failures++;
+        }
+    }
+
+    public void merge(LatencyRecorder other) {
+        for (int i = 0; i < other.count; i++) {
+            add(other.latencies[i]);
+        }
+        clientErrors += other.clientErrors;
+        failures += other.failures;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getClientErrors() {
+        return clientErrors;
+    }
+
+    public int getFailures() {
+        return failures;
+    }
+
+    /**
+     * Returns the latency in milliseconds that the given percentage of the responses did not exceed.
+     */
+    public double percentileMillis(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        Arrays.sort(latencies, 0, count);
+        int index = (int) Math.ceil(percentile / 100 * count) - 1;
+        return latencies[Math.max(0, Math.min(index, count - 1))] / 1_000_000.0;
+    }
+
+    private void add(long latencyNanos) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyNanos;
+    }
+}
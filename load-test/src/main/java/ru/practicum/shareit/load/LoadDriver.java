@@ -0,0 +1,122 @@
+package ru.practicum.shareit.load;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop load: every worker sends its next request as soon as the previous one is answered, picking
+ * the endpoint at random according to the mix weights.
+ */
+@Slf4j
+public class LoadDriver {
+    private final String baseUrl;
+    private final Dataset dataset;
+    private final LoadTestConfig config;
+    private final Endpoint[] endpoints;
+    private final int[] cumulativeWeights;
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    public LoadDriver(String baseUrl, Dataset dataset, LoadTestConfig config) {
+        this.baseUrl = baseUrl;
+        this.dataset = dataset;
+        this.config = config;
+        Map<Endpoint, Integer> weights = weights(config.getMix());
+        this.endpoints = weights.keySet().toArray(new Endpoint[0]);
+        this.cumulativeWeights = new int[endpoints.length];
+        int total = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            total += weights.get(endpoints[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    public Map<Endpoint, LatencyRecorder> run(Duration duration) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(config.getConcurrency());
+        List<Future<Map<Endpoint, LatencyRecorder>>> workers = new ArrayList<>();
+        for (int i = 0; i < config.getConcurrency(); i++) {
+            Random random = new Random(config.getSeed() + i);
+            workers.add(executor.submit(() -> work(random, deadline)));
+        }
+        Map<Endpoint, LatencyRecorder> result = new EnumMap<>(Endpoint.class);
+        try {
+            for (Future<Map<Endpoint, LatencyRecorder>> worker : workers) {
+                worker.get().forEach((endpoint, recorder) ->
+                        result.computeIfAbsent(endpoint, e -> new LatencyRecorder()).merge(recorder));
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Load worker failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return result;
+    }
+
+    private Map<Endpoint, LatencyRecorder> work(Random random, long deadline) throws InterruptedException {
+        Map<Endpoint, LatencyRecorder> recorders = new EnumMap<>(Endpoint.class);
+        while (System.nanoTime() < deadline) {
+            Endpoint endpoint = next(random);
+            long start = System.nanoTime();
+            int status;
+            try {
+                status = client.send(endpoint.request(baseUrl, dataset, random)
+                                .timeout(Duration.ofSeconds(30))
+                                .build(),
+                        HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (IOException e) {
+                log.debug("{} failed: {}", endpoint, e.getMessage());
+                status = -1;
+            }
+            recorders.computeIfAbsent(endpoint, e -> new LatencyRecorder()).record(System.nanoTime() - start, status);
+        }
+        return recorders;
+    }
+
+    private Endpoint next(Random random) {
+        int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return endpoints[i];
+            }
+        }
+        return endpoints[endpoints.length - 1];
+    }
+
+    /**
+     * Default weights, overridden by a {@code ENDPOINT=weight,...} list; a weight of 0 drops the endpoint.
+     */
+    private static Map<Endpoint, Integer> weights(String mix) {
+        Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            weights.put(endpoint, endpoint.getDefaultWeight());
+        }
+        for (String entry : mix.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.split("=");
+            weights.put(Endpoint.valueOf(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        weights.values().removeIf(weight -> weight <= 0);
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Load mix has no endpoints: " + mix);
+        }
+        return weights;
+    }
+}
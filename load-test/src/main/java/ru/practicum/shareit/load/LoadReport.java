@@ -0,0 +1,41 @@
+package ru.practicum.shareit.load;
+
+import lombok.experimental.UtilityClass;
+
+import java.time.Duration;
+import java.util.Map;
+
+@UtilityClass
+public class LoadReport {
+    private static final String ROW = "%-20s %9s %9s %9s %9s %9s %9s %9s %7s %8s%n";
+
+    public static String format(Map<Endpoint, LatencyRecorder> result, Duration duration) {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format(ROW, "endpoint", "requests", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms",
+                "max ms", "4xx", "failed"));
+        LatencyRecorder total = new LatencyRecorder();
+        result.forEach((endpoint, recorder) -> {
+            report.append(row(endpoint.name(), recorder, duration));
+            total.merge(recorder);
+        });
+        report.append(row("TOTAL", total, duration));
+        return report.toString();
+    }
+
+    private static String row(String name, LatencyRecorder recorder, Duration duration) {
+        return String.format(ROW, name,
+                recorder.getCount(),
+                String.format("%.1f", recorder.getCount() / (duration.toMillis() / 1000.0)),
+                millis(recorder.percentileMillis(50)),
+                millis(recorder.percentileMillis(90)),
+                millis(recorder.percentileMillis(99)),
+                millis(recorder.percentileMillis(99.9)),
+                millis(recorder.percentileMillis(100)),
+                recorder.getClientErrors(),
+                recorder.getFailures());
+    }
+
+    private static String millis(double value) {
+        return String.format("%.2f", value);
+    }
+}
@@ -0,0 +1,88 @@
+package ru.practicum.shareit.load;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Seeds a file-backed H2 database, starts the server ("test" profile) and the gateway from their jars and drives
+ * the configured request mix against the gateway, then prints throughput and latency percentiles per endpoint.
+ * With several {@code load.profiles} the whole run is repeated on a freshly seeded database for each of them,
+ * e.g. to compare the default logging with the "prod" one.
+ *
+ * <pre>
+ * mvn install -DskipTests
+ * mvn exec:java -pl load-test -Dload.items=20000 -Dload.concurrency=64 -Dload.duration.seconds=120
+ * mvn exec:java -pl load-test -Dload.profiles=default,prod
+ * </pre>
+ */
+@Slf4j
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = new LoadTestConfig();
+        log.info("Load test {}", config);
+        Dataset dataset = new Dataset(config);
+        Map<String, String> reports = new LinkedHashMap<>();
+        for (String profile : config.getProfiles()) {
+            reports.put(profile, run(config, dataset, profile));
+        }
+        reports.forEach((profile, report) -> System.out.println("Profile: " + profile + "\n" + report));
+    }
+
+    private static String run(LoadTestConfig config, Dataset dataset, String profile) throws Exception {
+        log.info("Running with profile {}", profile);
+        prepareWorkDir(config.getWorkDir());
+        new DatasetSeeder(config, dataset).seed();
+
+        try (ServiceProcess server = ServiceProcess.start("server-" + profile, config.getServerJar(),
+                config.getWorkDir(), serverArgs(config, profile));
+             ServiceProcess gateway = ServiceProcess.start("gateway-" + profile, config.getGatewayJar(),
+                     config.getWorkDir(), gatewayArgs(config, profile))) {
+            server.awaitHealthy("http://localhost:" + config.getServerPort() + "/actuator/health");
+            gateway.awaitHealthy("http://localhost:" + config.getGatewayPort() + "/actuator/health");
+
+            LoadDriver driver = new LoadDriver("http://localhost:" + config.getGatewayPort(), dataset, config);
+            log.info("Warming up for {}", config.getWarmUp());
+            driver.run(config.getWarmUp());
+            log.info("Measuring for {}", config.getDuration());
+            Map<Endpoint, LatencyRecorder> result = driver.run(config.getDuration());
+            return LoadReport.format(result, config.getDuration());
+        }
+    }
+
+    private static List<String> serverArgs(LoadTestConfig config, String profile) {
+        String profiles = LoadTestConfig.DEFAULT_PROFILE.equals(profile) ? "test" : "test," + profile;
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.profiles.active=" + profiles,
+                "--spring.datasource.url=" + config.getJdbcUrl(),
+                "--server.port=" + config.getServerPort()));
+        if (!config.getServerArgs().isBlank()) {
+            args.addAll(Arrays.asList(config.getServerArgs().trim().split("\\s+")));
+        }
+        return args;
+    }
+
+    private static List<String> gatewayArgs(LoadTestConfig config, String profile) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=" + config.getGatewayPort(),
+                "--shareit-server.url=http://localhost:" + config.getServerPort()));
+        if (!LoadTestConfig.DEFAULT_PROFILE.equals(profile)) {
+            args.add("--spring.profiles.active=" + profile);
+        }
+        return args;
+    }
+
+    private static void prepareWorkDir(Path workDir) throws IOException {
+        Files.createDirectories(workDir);
+        Files.deleteIfExists(workDir.resolve("shareit.mv.db"));
+        Files.deleteIfExists(workDir.resolve("shareit.trace.db"));
+    }
+}
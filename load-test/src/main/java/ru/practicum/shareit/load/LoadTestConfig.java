@@ -0,0 +1,38 @@
+package ru.practicum.shareit.load;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Load test settings, read from {@code load.*} system properties so they can be passed as {@code -D} flags to Maven.
+ */
+@Getter
+@ToString
+public class LoadTestConfig {
+    public static final String DEFAULT_PROFILE = "default";
+    private final int users = Integer.getInteger("load.users", 1_000);
+    private final int items = Integer.getInteger("load.items", 5_000);
+    private final int bookings = Integer.getInteger("load.bookings", 50_000);
+    private final int comments = Integer.getInteger("load.comments", 10_000);
+    private final int requests = Integer.getInteger("load.requests", 1_000);
+    private final long seed = Long.getLong("load.seed", 42L);
+    private final int concurrency = Integer.getInteger("load.concurrency", 32);
+    private final Duration warmUp = Duration.ofSeconds(Long.getLong("load.warmup.seconds", 20L));
+    private final Duration duration = Duration.ofSeconds(Long.getLong("load.duration.seconds", 60L));
+    private final String mix = System.getProperty("load.mix", "");
+    private final int serverPort = Integer.getInteger("load.server.port", 19090);
+    private final int gatewayPort = Integer.getInteger("load.gateway.port", 18080);
+    private final String serverJar = System.getProperty("load.server.jar");
+    private final String gatewayJar = System.getProperty("load.gateway.jar");
+    private final String serverArgs = System.getProperty("load.server.args", "");
+    private final List<String> profiles = List.of(System.getProperty("load.profiles", DEFAULT_PROFILE).split(","));
+    private final Path workDir = Path.of(System.getProperty("load.work.dir", "target/load-test"));
+
+    public String getJdbcUrl() {
+        return "jdbc:h2:file:" + workDir.toAbsolutePath().resolve("shareit") + ";AUTO_SERVER=TRUE";
+    }
+}
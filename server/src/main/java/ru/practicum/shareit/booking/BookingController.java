@@ -1,9 +1,12 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoInfo;
+import ru.practicum.shareit.booking.dto.BookingPage;
 import ru.practicum.shareit.booking.dto.GetAllBookingsRequest;
 import ru.practicum.shareit.booking.model.State;
 import ru.practicum.shareit.booking.service.BookingService;
@@ -15,6 +18,7 @@ import java.util.List;
 public class BookingController {
 
     private final BookingService service;
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
 
     @Autowired
     public BookingController(BookingService service) {
@@ -34,6 +38,12 @@ public class BookingController {
         return service.updateStatusOwner(bookingId, approved, ownerId);
     }
 
+    @PatchMapping
+    public List<BookingDtoInfo> updateStatusOwner(@RequestBody List<BookingDecisionDto> decisions,
+                                                  @RequestHeader("X-Sharer-User-Id") Long ownerId) {
+        return service.updateStatusOwner(decisions, ownerId);
+    }
+
     @GetMapping("/{bookingId}")
     public BookingDtoInfo get(@PathVariable Long bookingId,
                               @RequestHeader("X-Sharer-User-Id") Long userId) {
@@ -41,23 +51,37 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingDtoInfo> getAllByBookerAndState(@RequestParam(required = false, defaultValue = "ALL") State state,
-                                                       @RequestHeader("X-Sharer-User-Id") Long bookerId,
-                                                       @RequestParam(value = "from",
-                                                               defaultValue = "0") Integer from,
-                                                       @RequestParam(value = "size",
-                                                               defaultValue = "10") Integer size) {
-
-        return service.getAll(GetAllBookingsRequest.of(state, bookerId, false, from, size));
+    public ResponseEntity<List<BookingDtoInfo>> getAllByBookerAndState(@RequestParam(required = false,
+                                                                               defaultValue = "ALL") State state,
+                                                                       @RequestHeader("X-Sharer-User-Id") Long bookerId,
+                                                                       @RequestParam(value = "from",
+                                                                               defaultValue = "0") Integer from,
+                                                                       @RequestParam(value = "size",
+                                                                               defaultValue = "10") Integer size,
+                                                                       @RequestParam(value = "cursor",
+                                                                               required = false) String cursor) {
+        return withNextCursor(service.getPage(GetAllBookingsRequest.of(state, bookerId, false, from, size, cursor)));
     }
 
     @GetMapping("/owner")
-    public List<BookingDtoInfo> getAllByOwnerAndState(@RequestParam(required = false, defaultValue = "ALL") State state,
-                                                      @RequestHeader("X-Sharer-User-Id") Long ownerId,
-                                                      @RequestParam(value = "from",
-                                                              defaultValue = "0") Integer from,
-                                                      @RequestParam(value = "size",
-                                                              defaultValue = "10") Integer size) {
-        return service.getAll(GetAllBookingsRequest.of(state, ownerId, true, from, size));
+    public ResponseEntity<List<BookingDtoInfo>> getAllByOwnerAndState(@RequestParam(required = false,
+                                                                              defaultValue = "ALL") State state,
+                                                                      @RequestHeader("X-Sharer-User-Id") Long ownerId,
+                                                                      @RequestParam(value = "from",
+                                                                              defaultValue = "0") Integer from,
+                                                                      @RequestParam(value = "size",
+                                                                              defaultValue = "10") Integer size,
+                                                                      @RequestParam(value = "cursor",
+                                                                              required = false) String cursor) {
+        return withNextCursor(service.getPage(GetAllBookingsRequest.of(state, ownerId, true, from, size, cursor)));
+    }
+
+    private ResponseEntity<List<BookingDtoInfo>> withNextCursor(BookingPage page) {
+        if (page.getNextCursor() == null) {
+            return ResponseEntity.ok(page.getBookings());
+        }
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, page.getNextCursor())
+                .body(page.getBookings());
     }
 }
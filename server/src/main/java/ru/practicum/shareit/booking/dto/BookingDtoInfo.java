@@ -19,6 +19,11 @@ public class BookingDtoInfo {
     private Item item;
     private User booker;
 
+    public BookingDtoInfo(Long id, LocalDateTime start, LocalDateTime end, BookingStatus status,
+                          Long itemId, String itemName, Long bookerId) {
+        this(id, start, end, status, new Item(itemId, itemName), new User(bookerId));
+    }
+
     @Getter
     @Setter
     @AllArgsConstructor
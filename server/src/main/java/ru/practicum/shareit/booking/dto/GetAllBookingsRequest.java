@@ -12,18 +12,29 @@ public class GetAllBookingsRequest {
     private boolean isOwner;
     private Integer from;
     private Integer size;
+    private String cursor;
 
     public static GetAllBookingsRequest of(State state,
                                            Long userId,
                                            boolean isOwner,
                                            Integer from,
                                            Integer size) {
+        return of(state, userId, isOwner, from, size, null);
+    }
+
+    public static GetAllBookingsRequest of(State state,
+                                           Long userId,
+                                           boolean isOwner,
+                                           Integer from,
+                                           Integer size,
+                                           String cursor) {
         GetAllBookingsRequest request = new GetAllBookingsRequest();
         request.setState(state);
         request.setUserId(userId);
         request.setOwner(isOwner);
         request.setFrom(from);
         request.setSize(size);
+        request.setCursor(cursor);
         return request;
     }
 }
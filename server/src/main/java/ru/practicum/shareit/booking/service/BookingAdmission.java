@@ -0,0 +1,92 @@
+package ru.practicum.shareit.booking.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.storage.BookingStorage;
+import ru.practicum.shareit.exception.UnavailableItemException;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serializes the writes that put a hold on an item, so the check for overlapping approved bookings and the
+ * write that follows it cannot interleave with another hold on the same item. Each item maps to one of
+ * {@code shareit.booking.lock-stripes} in-process locks; on Postgres a transaction-scoped advisory lock on the
+ * item id also covers other server instances. Both are held until the surrounding transaction completes, so
+ * the next writer already sees the committed booking. Items on different stripes never wait for each other.
+ */
+@Component
+public class BookingAdmission {
+    private final BookingStorage storage;
+    private final ReentrantLock[] stripes;
+    private final long timeoutMillis;
+    private final boolean advisoryLocks;
+
+    public BookingAdmission(BookingStorage storage,
+                            @Value("${shareit.booking.lock-stripes:1024}") int stripes,
+                            @Value("${shareit.booking.lock-timeout:5s}") Duration timeout,
+                            @Value("${spring.datasource.url:}") String datasourceUrl) {
+        this.storage = storage;
+        this.stripes = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.timeoutMillis = timeout.toMillis();
+        this.advisoryLocks = DatabaseDriver.fromJdbcUrl(datasourceUrl) == DatabaseDriver.POSTGRESQL;
+    }
+
+    /**
+     * Locks the item until the current transaction commits or rolls back.
+     */
+    public void lock(Long itemId) {
+        lockAll(List.of(itemId));
+    }
+
+    /**
+     * Locks all items until the current transaction commits or rolls back. Locks are always taken in stripe
+     * order, so two transactions locking overlapping sets of items cannot wait for each other in a cycle.
+     */
+    public void lockAll(Collection<Long> itemIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Item lock requires an active transaction");
+        }
+        itemIds.stream()
+                .distinct()
+                .sorted(Comparator.comparingInt(this::stripe).thenComparing(Comparator.naturalOrder()))
+                .forEach(this::lockOne);
+    }
+
+    private void lockOne(Long itemId) {
+        ReentrantLock lock = stripes[stripe(itemId)];
+        try {
+            if (!lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new UnavailableItemException(String.format("Вещь с id - %d сейчас бронируется, " +
+                        "повторите попытку позже", itemId));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for item " + itemId, e);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+        if (advisoryLocks) {
+            storage.lockItem(itemId);
+        }
+    }
+
+    private int stripe(Long itemId) {
+        int hash = itemId.hashCode();
+        return ((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % stripes.length;
+    }
+}
@@ -1,7 +1,9 @@
 package ru.practicum.shareit.booking.service;
 
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoInfo;
+import ru.practicum.shareit.booking.dto.BookingPage;
 import ru.practicum.shareit.booking.dto.GetAllBookingsRequest;
 
 import java.util.List;
@@ -12,8 +14,12 @@ public interface BookingService {
 
     BookingDtoInfo updateStatusOwner(Long id, Boolean approved, Long ownerId);
 
+    List<BookingDtoInfo> updateStatusOwner(List<BookingDecisionDto> decisions, Long ownerId);
+
     BookingDtoInfo get(Long id, Long userId);
 
     List<BookingDtoInfo> getAll(GetAllBookingsRequest request);
 
+    BookingPage getPage(GetAllBookingsRequest request);
+
 }
@@ -2,16 +2,23 @@ package ru.practicum.shareit.booking.service;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoInfo;
+import ru.practicum.shareit.booking.dto.BookingPage;
+import ru.practicum.shareit.booking.dto.BookingInterval;
 import ru.practicum.shareit.booking.dto.BookingMapper;
 import ru.practicum.shareit.booking.dto.GetAllBookingsRequest;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.storage.ApprovedBookingIndex;
 import ru.practicum.shareit.booking.storage.BookingStorage;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.UnavailableItemException;
 import ru.practicum.shareit.exception.UnchangeableStatusException;
+import ru.practicum.shareit.exception.UpdateFailedException;
+import ru.practicum.shareit.item.cache.ItemDetailsCache;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
 import ru.practicum.shareit.item.storage.ItemStorage;
@@ -23,11 +30,16 @@ import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -37,16 +49,23 @@ public class BookingServiceImpl implements BookingService {
     private final BookingStorage storage;
     private final UserStorage userStorage;
     private final ItemStorage itemStorage;
+    private final ApprovedBookingIndex approvedBookingIndex;
+    private final ItemDetailsCache itemDetailsCache;
+    private final BookingAdmission admission;
     @PersistenceContext
     private EntityManager entityManager;
     public static final String BOOKING_NOT_FOUND = "Бронирование с id -" +
             " %d не найдено";
 
     public BookingServiceImpl(BookingStorage storage, UserStorage userStorage,
-                              ItemStorage itemStorage) {
+                              ItemStorage itemStorage, ApprovedBookingIndex approvedBookingIndex,
+                              ItemDetailsCache itemDetailsCache, BookingAdmission admission) {
         this.storage = storage;
         this.userStorage = userStorage;
         this.itemStorage = itemStorage;
+        this.approvedBookingIndex = approvedBookingIndex;
+        this.itemDetailsCache = itemDetailsCache;
+        this.admission = admission;
     }
 
     @Override
@@ -56,32 +75,103 @@ public class BookingServiceImpl implements BookingService {
                 new NotFoundException(String.format(UserServiceImpl.USER_NOT_FOUND, userId)));
         Item item = itemStorage.findByIdWhereOwnerIdNot(bookingDto.getItemId(), userId).orElseThrow(() ->
                 new NotFoundException(String.format(ItemServiceImpl.ITEM_NOT_FOUND, bookingDto.getItemId())));
-        if (storage.reservedForDates(bookingDto.getItemId(), bookingDto.getStart(),
-                bookingDto.getEnd(), BookingStatus.APPROVED) || Boolean.FALSE.equals(item.getAvailable())) {
+        if (Boolean.FALSE.equals(item.getAvailable()) || approvedBookingIndex.isReserved(item.getId(),
+                bookingDto.getStart(), bookingDto.getEnd())) {
             throw new UnavailableItemException(String.format("Вещь с id - %d не доступна " +
                     "для бронирования", item.getId()));
         }
         bookingDto.setStatus(BookingStatus.WAITING);
         Booking booking = BookingMapper.convertToBooking(bookingDto, item, booker);
-        return BookingMapper.convertToBookingDtoInfo(storage.save(booking));
+        booking = storage.save(booking);
+        itemDetailsCache.evict(item.getId());
+        return BookingMapper.convertToBookingDtoInfo(booking);
     }
 
     @Override
     @Transactional
     public BookingDtoInfo updateStatusOwner(Long id, Boolean approved, Long ownerId) {
-        Booking booking = storage.findBookingByIdAndItemOwnerId(id, ownerId).orElseThrow(() ->
+        BookingDtoInfo booking = storage.findInfoByIdAndItemOwnerId(id, ownerId).orElseThrow(() ->
                 new NotFoundException(String.format(BOOKING_NOT_FOUND, id)));
         if (booking.getStatus() != BookingStatus.WAITING) {
-            throw new UnchangeableStatusException(String.format("Статус бронирования с id %d - %s " +
-                    "больше нельзя изменить", id, booking.getStatus().name()));
+            throw unchangeableStatus(id, booking.getStatus());
         }
+        Long itemId = booking.getItem().getId();
         if (Boolean.TRUE.equals(approved)) {
+            admission.lock(itemId);
+            if (storage.approveIfNotReserved(id, itemId, booking.getStart(), booking.getEnd(),
+                    BookingStatus.WAITING, BookingStatus.APPROVED) == 0) {
+                BookingStatus current = storage.findStatusById(id).orElse(BookingStatus.WAITING);
+                if (current != BookingStatus.WAITING) {
+                    throw unchangeableStatus(id, current);
+                }
+                throw reserved(itemId);
+            }
             booking.setStatus(BookingStatus.APPROVED);
-        } else if (Boolean.FALSE.equals(approved)) {
+            approvedBookingIndex.add(itemId, booking.getStart(), booking.getEnd());
+        } else {
+            if (storage.updateStatus(id, BookingStatus.WAITING, BookingStatus.REJECTED) == 0) {
+                throw unchangeableStatus(id, storage.findStatusById(id).orElse(BookingStatus.WAITING));
+            }
             booking.setStatus(BookingStatus.REJECTED);
         }
-        storage.save(booking);
-        return BookingMapper.convertToBookingDtoInfo(booking);
+        itemDetailsCache.evict(itemId);
+        return booking;
+    }
+
+    @Override
+    @Transactional
+    public List<BookingDtoInfo> updateStatusOwner(List<BookingDecisionDto> decisions, Long ownerId) {
+        Map<Long, BookingStatus> statuses = new LinkedHashMap<>();
+        for (BookingDecisionDto decision : decisions) {
+            BookingStatus status = Boolean.TRUE.equals(decision.getApproved())
+                    ? BookingStatus.APPROVED
+                    : BookingStatus.REJECTED;
+            if (statuses.put(decision.getBookingId(), status) != null) {
+                throw new UpdateFailedException(String.format("Бронирование с id %d указано в запросе " +
+                        "несколько раз", decision.getBookingId()));
+            }
+        }
+        if (statuses.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, BookingDtoInfo> bookings = storage.findAllInfoByIdInAndItemOwnerId(statuses.keySet(), ownerId)
+                .stream()
+                .collect(Collectors.toMap(BookingDtoInfo::getId, Function.identity()));
+        for (Long id : statuses.keySet()) {
+            BookingDtoInfo booking = bookings.get(id);
+            if (booking == null) {
+                throw new NotFoundException(String.format(BOOKING_NOT_FOUND, id));
+            }
+            if (booking.getStatus() != BookingStatus.WAITING) {
+                throw unchangeableStatus(id, booking.getStatus());
+            }
+        }
+        List<BookingDtoInfo> approvals = statuses.entrySet().stream()
+                .filter(entry -> entry.getValue() == BookingStatus.APPROVED)
+                .map(entry -> bookings.get(entry.getKey()))
+                .collect(Collectors.toList());
+        if (!approvals.isEmpty()) {
+            checkNotReserved(approvals);
+        }
+        List<Long> unchanged = storage.updateStatuses(statuses, BookingStatus.WAITING);
+        if (!unchanged.isEmpty()) {
+            Long id = unchanged.get(0);
+            throw unchangeableStatus(id, storage.findStatusById(id).orElse(BookingStatus.WAITING));
+        }
+        List<BookingDtoInfo> result = new ArrayList<>(statuses.size());
+        statuses.forEach((id, status) -> {
+            BookingDtoInfo booking = bookings.get(id);
+            booking.setStatus(status);
+            if (status == BookingStatus.APPROVED) {
+                approvedBookingIndex.add(booking.getItem().getId(), booking.getStart(), booking.getEnd());
+            }
+            result.add(booking);
+        });
+        result.stream()
+                .map(booking -> booking.getItem().getId())
+                .distinct()
+                .forEach(itemDetailsCache::evict);
+        return result;
     }
 
     @Override
@@ -94,13 +184,22 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     public List<BookingDtoInfo> getAll(GetAllBookingsRequest request) {
+        return getPage(request).getBookings();
+    }
+
+    /**
+     * Reads one booking past the page, so the next cursor is only handed out when there is a next page.
+     */
+    @Override
+    public BookingPage getPage(GetAllBookingsRequest request) {
         Long userId = request.getUserId();
         CriteriaBuilder cb = entityManager.getCriteriaBuilder();
-        CriteriaQuery<Booking> cq = cb.createQuery(Booking.class);
+        CriteriaQuery<BookingDtoInfo> cq = cb.createQuery(BookingDtoInfo.class);
         Root<Booking> booking = cq.from(Booking.class);
+        Join<Booking, Item> item = booking.join("item");
         List<Predicate> predicates = new ArrayList<>();
         if (request.isOwner()) {
-            predicates.add(cb.equal(booking.get("item").get("owner").get("id"), userId));
+            predicates.add(cb.equal(item.get("owner").get("id"), userId));
         } else {
             predicates.add(cb.equal(booking.get("booker").get("id"), userId));
         }
@@ -124,16 +223,77 @@ public class BookingServiceImpl implements BookingService {
             case ALL:
                 break;
         }
-        cq.select(booking).where(predicates.toArray(new Predicate[]{})).orderBy(cb.desc(booking.get("start")));
-        List<Booking> bookings = entityManager.createQuery(cq)
-                .setMaxResults(request.getSize())
-                .setFirstResult(request.getFrom())
+        int firstResult = request.getFrom();
+        if (request.getCursor() != null) {
+            BookingCursor cursor = BookingCursor.decode(request.getCursor());
+            predicates.add(cb.or(cb.lessThan(booking.get("start"), cursor.getStart()),
+                    cb.and(cb.equal(booking.get("start"), cursor.getStart()),
+                            cb.lessThan(booking.get("id"), cursor.getId()))));
+            firstResult = 0;
+        }
+        cq.select(cb.construct(BookingDtoInfo.class,
+                        booking.get("id"),
+                        booking.get("start"),
+                        booking.get("end"),
+                        booking.get("status"),
+                        item.get("id"),
+                        item.get("name"),
+                        booking.get("booker").get("id")))
+                .where(predicates.toArray(new Predicate[]{}))
+                .orderBy(cb.desc(booking.get("start")), cb.desc(booking.get("id")));
+        List<BookingDtoInfo> bookings = entityManager.createQuery(cq)
+                .setMaxResults(request.getSize() + 1)
+                .setFirstResult(firstResult)
                 .getResultList();
         if (bookings.isEmpty()) {
             throw new NotFoundException(String.format("Бронирования для пользователя с id %d не найдены", userId));
         }
-        return bookings.stream()
-                .map(BookingMapper::convertToBookingDtoInfo)
-                .collect(Collectors.toList());
+        if (bookings.size() <= request.getSize()) {
+            return new BookingPage(bookings, null);
+        }
+        List<BookingDtoInfo> page = bookings.subList(0, request.getSize());
+        return new BookingPage(page, BookingCursor.after(page.get(page.size() - 1)));
+    }
+
+    /**
+     * Refuses the batch if two of its approvals overlap each other or an already approved booking. Holds the
+     * item locks from here until commit, so the checked state stays current for the update that follows.
+     */
+    private void checkNotReserved(List<BookingDtoInfo> approvals) {
+        Map<Long, List<BookingDtoInfo>> byItem = approvals.stream()
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getId()));
+        admission.lockAll(byItem.keySet());
+        byItem.forEach((itemId, itemApprovals) -> {
+            itemApprovals.sort(Comparator.comparing(BookingDtoInfo::getStart));
+            for (int i = 1; i < itemApprovals.size(); i++) {
+                if (itemApprovals.get(i).getStart().isBefore(itemApprovals.get(i - 1).getEnd())) {
+                    throw reserved(itemId);
+                }
+            }
+        });
+        LocalDateTime start = approvals.stream().map(BookingDtoInfo::getStart)
+                .min(Comparator.naturalOrder()).orElseThrow();
+        LocalDateTime end = approvals.stream().map(BookingDtoInfo::getEnd)
+                .max(Comparator.naturalOrder()).orElseThrow();
+        List<BookingInterval> approved = storage.findAllIntervalsByItemIdIn(byItem.keySet(), start, end,
+                BookingStatus.APPROVED);
+        for (BookingInterval interval : approved) {
+            for (BookingDtoInfo booking : byItem.get(interval.getItemId())) {
+                if (booking.getStart().isBefore(interval.getEndDate())
+                        && booking.getEnd().isAfter(interval.getStartDate())) {
+                    throw reserved(interval.getItemId());
+                }
+            }
+        }
+    }
+
+    private static UnavailableItemException reserved(Long itemId) {
+        return new UnavailableItemException(String.format("Вещь с id - %d уже забронирована " +
+                "на эти даты", itemId));
+    }
+
+    private static UnchangeableStatusException unchangeableStatus(Long id, BookingStatus status) {
+        return new UnchangeableStatusException(String.format("Статус бронирования с id %d - %s " +
+                "больше нельзя изменить", id, status.name()));
     }
 }
@@ -0,0 +1,89 @@
+package ru.practicum.shareit.booking.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.dto.BookingInterval;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.util.TransactionUtils;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+public class ApprovedBookingIndex {
+
+    private final BookingStorage storage;
+    private final Map<Long, NavigableMap<LocalDateTime, LocalDateTime>> intervals = new ConcurrentHashMap<>();
+
+    public ApprovedBookingIndex(BookingStorage storage) {
+        this.storage = storage;
+    }
+
+    @PostConstruct
+    public void warmUp() {
+        intervals.clear();
+        List<BookingInterval> approved = storage.findAllIntervalsByStatusAndEndAfter(BookingStatus.APPROVED,
+                LocalDateTime.now());
+        approved.forEach(interval -> put(interval.getItemId(), interval.getStartDate(), interval.getEndDate()));
+        log.info("Approved booking index loaded with {} bookings for {} items", approved.size(), intervals.size());
+    }
+
+    public boolean isReserved(Long itemId, LocalDateTime start, LocalDateTime end) {
+        NavigableMap<LocalDateTime, LocalDateTime> itemIntervals = intervals.get(itemId);
+        if (itemIntervals == null) {
+            return false;
+        }
+        synchronized (itemIntervals) {
+            Map.Entry<LocalDateTime, LocalDateTime> closest = itemIntervals.lowerEntry(end);
+            return closest != null && closest.getValue().isAfter(start);
+        }
+    }
+
+    public void add(Long itemId, LocalDateTime start, LocalDateTime end) {
+        TransactionUtils.afterCommit(() -> put(itemId, start, end));
+    }
+
+    private void put(Long itemId, LocalDateTime start, LocalDateTime end) {
+        NavigableMap<LocalDateTime, LocalDateTime> itemIntervals = intervals.computeIfAbsent(itemId,
+                id -> new TreeMap<>());
+        synchronized (itemIntervals) {
+            dropExpired(itemIntervals, LocalDateTime.now());
+            LocalDateTime mergedStart = start;
+            LocalDateTime mergedEnd = end;
+            Map.Entry<LocalDateTime, LocalDateTime> previous = itemIntervals.floorEntry(start);
+            if (previous != null && previous.getValue().isAfter(start)) {
+                mergedStart = previous.getKey();
+                mergedEnd = latest(mergedEnd, previous.getValue());
+                itemIntervals.remove(previous.getKey());
+            }
+            Map.Entry<LocalDateTime, LocalDateTime> next = itemIntervals.ceilingEntry(mergedStart);
+            while (next != null && next.getKey().isBefore(mergedEnd)) {
+                mergedEnd = latest(mergedEnd, next.getValue());
+                itemIntervals.remove(next.getKey());
+                next = itemIntervals.ceilingEntry(mergedStart);
+            }
+            itemIntervals.put(mergedStart, mergedEnd);
+        }
+    }
+
+    /**
+     * Merged intervals never overlap, so their ends ascend with their starts and the expired ones form a prefix.
+     */
+    private static void dropExpired(NavigableMap<LocalDateTime, LocalDateTime> itemIntervals, LocalDateTime now) {
+        Map.Entry<LocalDateTime, LocalDateTime> first = itemIntervals.firstEntry();
+        while (first != null && !first.getValue().isAfter(now)) {
+            itemIntervals.pollFirstEntry();
+            first = itemIntervals.firstEntry();
+        }
+    }
+
+    private static LocalDateTime latest(LocalDateTime first, LocalDateTime second) {
+        return first.isAfter(second) ? first : second;
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking.storage;
+
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.util.List;
+import java.util.Map;
+
+public interface BookingBatchStorage {
+
+    /**
+     * Moves every booking of {@code statuses} out of {@code expected} in one JDBC batch. Returns the ids whose
+     * update matched no row because the booking was no longer in {@code expected}.
+     */
+    List<Long> updateStatuses(Map<Long, BookingStatus> statuses, BookingStatus expected);
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.booking.storage;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plain JDBC on the connection of the surrounding JPA transaction. Bookings are neither in the second-level
+ * cache nor loaded as entities by the callers, so nothing in Hibernate goes stale.
+ */
+public class BookingBatchStorageImpl implements BookingBatchStorage {
+    private static final String UPDATE_STATUS = "update bookings " +
+            "set status = ?, version = version + 1 " +
+            "where booking_id = ? " +
+            "and status = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BookingBatchStorageImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<Long> updateStatuses(Map<Long, BookingStatus> statuses, BookingStatus expected) {
+        List<Long> ids = new ArrayList<>(statuses.keySet());
+        List<Object[]> args = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            args.add(new Object[]{statuses.get(id).name(), id, expected.name()});
+        }
+        int[] updated = jdbcTemplate.batchUpdate(UPDATE_STATUS, args);
+        List<Long> unchanged = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                unchanged.add(ids.get(i));
+            }
+        }
+        return unchanged;
+    }
+}
@@ -1,39 +1,117 @@
 package ru.practicum.shareit.booking.storage;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.booking.dto.BookingDtoInfo;
+import ru.practicum.shareit.booking.dto.BookingInterval;
+import ru.practicum.shareit.booking.dto.ItemBookingView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface BookingStorage extends JpaRepository<Booking, Long> {
+public interface BookingStorage extends JpaRepository<Booking, Long>, BookingBatchStorage {
+    @EntityGraph(attributePaths = {"item", "booker"})
     Optional<Booking> findBookingByIdAndBookerId(Long id, Long bookerId);
 
+    @EntityGraph(attributePaths = {"item", "booker"})
     Optional<Booking> findBookingByIdAndItemOwnerId(Long id, Long ownerId);
 
-    List<Booking> findByItemIdAndBookerIdAndStatusAndEndBefore(Long itemId, Long bookerId,
-                                                               BookingStatus status, LocalDateTime now);
+    @Query("select new ru.practicum.shareit.booking.dto.BookingDtoInfo(" +
+            "b.id, b.start, b.end, b.status, i.id, i.name, b.booker.id) " +
+            "from Booking b " +
+            "join b.item i " +
+            "where b.id = :id " +
+            "and i.owner.id = :ownerId")
+    Optional<BookingDtoInfo> findInfoByIdAndItemOwnerId(@Param("id") Long id, @Param("ownerId") Long ownerId);
 
-    @Query("select count(b)>0 from Booking b " +
-            "where b.item.id = :itemId " +
+    @Query("select new ru.practicum.shareit.booking.dto.BookingDtoInfo(" +
+            "b.id, b.start, b.end, b.status, i.id, i.name, b.booker.id) " +
+            "from Booking b " +
+            "join b.item i " +
+            "where b.id in (:ids) " +
+            "and i.owner.id = :ownerId")
+    List<BookingDtoInfo> findAllInfoByIdInAndItemOwnerId(@Param("ids") Collection<Long> ids,
+                                                         @Param("ownerId") Long ownerId);
+
+    @Query("select b.item.id as itemId, " +
+            "b.start as startDate, " +
+            "b.end as endDate " +
+            "from Booking b " +
+            "where b.item.id in (:itemIds) " +
             "and b.start < :end " +
             "and b.end > :start " +
             "and b.status = :status")
-    boolean reservedForDates(@Param("itemId") Long itemId,
+    List<BookingInterval> findAllIntervalsByItemIdIn(@Param("itemIds") Collection<Long> itemIds,
+                                                     @Param("start") LocalDateTime start,
+                                                     @Param("end") LocalDateTime end,
+                                                     @Param("status") BookingStatus status);
+
+    @Query("select b.status from Booking b where b.id = :id")
+    Optional<BookingStatus> findStatusById(@Param("id") Long id);
+
+    /**
+     * Moves the booking from {@code expected} to {@code status} only if nobody changed it since it was read.
+     * Returns the number of updated rows, 0 means the booking is no longer in {@code expected}.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update Booking b " +
+            "set b.status = :status, b.version = b.version + 1 " +
+            "where b.id = :id " +
+            "and b.status = :expected")
+    int updateStatus(@Param("id") Long id,
+                     @Param("expected") BookingStatus expected,
+                     @Param("status") BookingStatus status);
+
+    /**
+     * Approves a waiting booking unless another approved booking of the item overlaps its dates.
+     * Callers hold the item lock of {@code BookingAdmission}, so the check and the update cannot interleave
+     * with another approval of the same item.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update Booking b " +
+            "set b.status = :approved, b.version = b.version + 1 " +
+            "where b.id = :id " +
+            "and b.status = :waiting " +
+            "and not exists (select o.id from Booking o " +
+            "where o.item.id = :itemId " +
+            "and o.start < :end " +
+            "and o.end > :start " +
+            "and o.status = :approved)")
+    int approveIfNotReserved(@Param("id") Long id,
+                             @Param("itemId") Long itemId,
                              @Param("start") LocalDateTime start,
                              @Param("end") LocalDateTime end,
-                             @Param("status") BookingStatus status);
+                             @Param("waiting") BookingStatus waiting,
+                             @Param("approved") BookingStatus approved);
+
+    List<Booking> findByItemIdAndBookerIdAndStatusAndEndBefore(Long itemId, Long bookerId,
+                                                               BookingStatus status, LocalDateTime now);
 
-    @Query(value = "select b.*," +
-            "u.*, " +
-            "i.* " +
+    /**
+     * Postgres only: blocks until no other transaction holds the advisory lock of the item.
+     */
+    @Query(value = "select 1 from pg_advisory_xact_lock(:itemId)", nativeQuery = true)
+    Integer lockItem(@Param("itemId") Long itemId);
+
+    @Query("select b.item.id as itemId, " +
+            "b.start as startDate, " +
+            "b.end as endDate " +
+            "from Booking b " +
+            "where b.status = :status " +
+            "and b.end > :now")
+    List<BookingInterval> findAllIntervalsByStatusAndEndAfter(@Param("status") BookingStatus status,
+                                                              @Param("now") LocalDateTime now);
+
+    @Query(value = "select b.* " +
             "from bookings b " +
-            "left join users u on b.booker_id = u.user_id " +
-            "left join items i on b.item_id = i.item_id " +
+            "join items i on b.item_id = i.item_id " +
             "where b.item_id = :itemId " +
             "and i.owner_id = :ownerId " +
             "and b.end_date < :now " +
@@ -43,12 +121,9 @@ public interface BookingStorage extends JpaRepository<Booking, Long> {
                                       @Param("now") LocalDateTime now,
                                       @Param("ownerId") Long ownerId);
 
-    @Query(value = "select b.*," +
-            "u.*, " +
-            "i.* " +
+    @Query(value = "select b.* " +
             "from bookings b " +
-            "left join users u on b.booker_id = u.user_id " +
-            "left join items i on b.item_id = i.item_id " +
+            "join items i on b.item_id = i.item_id " +
             "where b.item_id = :itemId " +
             "and i.owner_id = :ownerId " +
             "and b.start_date > :now " +
@@ -58,4 +133,39 @@ public interface BookingStorage extends JpaRepository<Booking, Long> {
                                       @Param("now") LocalDateTime now,
                                       @Param("ownerId") Long ownerId);
 
+    @Query("select min(b.end) from Booking b " +
+            "where b.item.id = :itemId " +
+            "and b.end > :now")
+    Optional<LocalDateTime> findNearestBookingEnd(@Param("itemId") Long itemId,
+                                                  @Param("now") LocalDateTime now);
+
+    @Query(value = "select ranked.item_id as \"itemId\", " +
+            "ranked.booking_id as \"id\", " +
+            "ranked.booker_id as \"bookerId\" " +
+            "from (select b.item_id, b.booking_id, b.booker_id, " +
+            "row_number() over (partition by b.item_id order by b.end_date desc) as rn " +
+            "from bookings b " +
+            "join items i on b.item_id = i.item_id " +
+            "where b.item_id in (:itemIds) " +
+            "and i.owner_id = :ownerId " +
+            "and b.end_date < :now) ranked " +
+            "where ranked.rn = 1", nativeQuery = true)
+    List<ItemBookingView> findLastBookings(@Param("itemIds") Collection<Long> itemIds,
+                                           @Param("now") LocalDateTime now,
+                                           @Param("ownerId") Long ownerId);
+
+    @Query(value = "select ranked.item_id as \"itemId\", " +
+            "ranked.booking_id as \"id\", " +
+            "ranked.booker_id as \"bookerId\" " +
+            "from (select b.item_id, b.booking_id, b.booker_id, " +
+            "row_number() over (partition by b.item_id order by b.start_date) as rn " +
+            "from bookings b " +
+            "join items i on b.item_id = i.item_id " +
+            "where b.item_id in (:itemIds) " +
+            "and i.owner_id = :ownerId " +
+            "and b.start_date > :now) ranked " +
+            "where ranked.rn = 1", nativeQuery = true)
+    List<ItemBookingView> findNextBookings(@Param("itemIds") Collection<Long> itemIds,
+                                           @Param("now") LocalDateTime now,
+                                           @Param("ownerId") Long ownerId);
 }
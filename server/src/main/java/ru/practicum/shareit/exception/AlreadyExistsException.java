@@ -1,6 +1,6 @@
 package ru.practicum.shareit.exception;
 
-public class AlreadyExistsException extends RuntimeException {
+public class AlreadyExistsException extends DomainException {
 
     public AlreadyExistsException(String message) {
         super(message);
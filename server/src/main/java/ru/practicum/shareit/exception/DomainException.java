@@ -0,0 +1,11 @@
+package ru.practicum.shareit.exception;
+
+/**
+ * Base class of the expected, client-caused errors (unknown id, unavailable item and so on).
+ * They are thrown on the normal request path, so the stack trace is neither filled in nor logged.
+ */
+public abstract class DomainException extends RuntimeException {
+    protected DomainException(String message) {
+        super(message, null, false, false);
+    }
+}
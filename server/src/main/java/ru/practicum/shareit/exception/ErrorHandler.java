@@ -1,54 +1,63 @@
 package ru.practicum.shareit.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import javax.servlet.http.HttpServletRequest;
+
 @Slf4j
 @RestControllerAdvice
 public class ErrorHandler {
     @ExceptionHandler
     @ResponseStatus(HttpStatus.CONFLICT)
-    public ErrorResponse handleValidation(AlreadyExistsException e) {
-        log.info(e.getMessage(), e);
-        return new ErrorResponse("AlreadyExistsException", e.getMessage());
+    public ErrorResponse handleValidation(AlreadyExistsException e, HttpServletRequest request) {
+        return expected(HttpStatus.CONFLICT, e, request);
     }
 
     @ExceptionHandler
     @ResponseStatus(HttpStatus.NOT_FOUND)
-    public ErrorResponse handleNotFound(NotFoundException e) {
-        log.info(e.getMessage(), e);
-        return new ErrorResponse("NotFoundException", e.getMessage());
+    public ErrorResponse handleNotFound(NotFoundException e, HttpServletRequest request) {
+        return expected(HttpStatus.NOT_FOUND, e, request);
     }
 
     @ExceptionHandler
     @ResponseStatus(HttpStatus.BAD_REQUEST)
-    public ErrorResponse handleUpdateFailed(UpdateFailedException e) {
-        log.info(e.getMessage(), e);
-        return new ErrorResponse("UpdateFailedException", e.getMessage());
+    public ErrorResponse handleUpdateFailed(UpdateFailedException e, HttpServletRequest request) {
+        return expected(HttpStatus.BAD_REQUEST, e, request);
     }
 
     @ExceptionHandler
     @ResponseStatus(HttpStatus.BAD_REQUEST)
-    public ErrorResponse handleUnavailableItem(UnavailableItemException e) {
-        log.info(e.getMessage(), e);
-        return new ErrorResponse("UnavailableItemException", e.getMessage());
+    public ErrorResponse handleUnavailableItem(UnavailableItemException e, HttpServletRequest request) {
+        return expected(HttpStatus.BAD_REQUEST, e, request);
     }
 
     @ExceptionHandler
     @ResponseStatus(HttpStatus.BAD_REQUEST)
-    public ErrorResponse handleUnchangeableStatus(UnchangeableStatusException e) {
-        log.info(e.getMessage(), e);
-        return new ErrorResponse("UnchangeableStatusException", e.getMessage());
+    public ErrorResponse handleUnchangeableStatus(UnchangeableStatusException e, HttpServletRequest request) {
+        return expected(HttpStatus.BAD_REQUEST, e, request);
     }
 
     @ExceptionHandler
     @ResponseStatus(HttpStatus.BAD_REQUEST)
-    public ErrorResponse handleUnavailableForUser(UnavailableForUserException e) {
-        log.info(e.getMessage(), e);
-        return new ErrorResponse("UnavailableForUserException", e.getMessage());
+    public ErrorResponse handleUnavailableForUser(UnavailableForUserException e, HttpServletRequest request) {
+        return expected(HttpStatus.BAD_REQUEST, e, request);
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleInvalidCursor(InvalidCursorException e, HttpServletRequest request) {
+        return expected(HttpStatus.BAD_REQUEST, e, request);
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleConcurrentUpdate(OptimisticLockingFailureException e, HttpServletRequest request) {
+        return expected(HttpStatus.CONFLICT, e, "Данные были изменены другим запросом, повторите попытку", request);
     }
 
     @ExceptionHandler
@@ -57,4 +66,18 @@ public class ErrorHandler {
         log.error(e.getMessage(), e);
         return new ErrorResponse("Unknown error", e.getMessage());
     }
+
+    private ErrorResponse expected(HttpStatus status, DomainException e, HttpServletRequest request) {
+        return expected(status, e, e.getMessage(), request);
+    }
+
+    /**
+     * Logs the exception's own message and answers with {@code message}, which may be friendlier than the former.
+     */
+    private ErrorResponse expected(HttpStatus status, RuntimeException e, String message, HttpServletRequest request) {
+        String error = e.getClass().getSimpleName();
+        log.info("status={} error={} method={} uri={} message=\"{}\"", status.value(), error, request.getMethod(),
+                request.getRequestURI(), e.getMessage());
+        return new ErrorResponse(error, message);
+    }
 }
\ No newline at end of file
@@ -1,6 +1,6 @@
 package ru.practicum.shareit.exception;
 
-public class NotFoundException extends RuntimeException {
+public class NotFoundException extends DomainException {
 
     public NotFoundException(String message) {
         super(message);
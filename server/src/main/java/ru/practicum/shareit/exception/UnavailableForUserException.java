@@ -1,6 +1,6 @@
 package ru.practicum.shareit.exception;
 
-public class UnavailableForUserException extends RuntimeException {
+public class UnavailableForUserException extends DomainException {
     public UnavailableForUserException(String message) {
         super(message);
     }
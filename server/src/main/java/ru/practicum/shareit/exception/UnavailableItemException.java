@@ -1,6 +1,6 @@
 package ru.practicum.shareit.exception;
 
-public class UnavailableItemException extends RuntimeException {
+public class UnavailableItemException extends DomainException {
     public UnavailableItemException(String message) {
         super(message);
     }
@@ -1,6 +1,6 @@
 package ru.practicum.shareit.exception;
 
-public class UnchangeableStatusException extends RuntimeException {
+public class UnchangeableStatusException extends DomainException {
     public UnchangeableStatusException(String message) {
         super(message);
     }
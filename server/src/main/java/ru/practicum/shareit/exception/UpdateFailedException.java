@@ -1,6 +1,6 @@
 package ru.practicum.shareit.exception;
 
-public class UpdateFailedException extends RuntimeException {
+public class UpdateFailedException extends DomainException {
     public UpdateFailedException(String message) {
         super(message);
     }
@@ -1,13 +1,19 @@
 package ru.practicum.shareit.item;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.comment.dto.CommentDto;
 import ru.practicum.shareit.item.comment.dto.CommentDtoInfo;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoInfo;
+import ru.practicum.shareit.item.dto.ItemImportResult;
+import ru.practicum.shareit.item.dto.ItemJsonArrayReader;
+import ru.practicum.shareit.item.dto.ItemNdjsonReader;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -15,10 +21,12 @@ import java.util.List;
 public class ItemController {
 
     private final ItemService service;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public ItemController(ItemService service) {
+    public ItemController(ItemService service, ObjectMapper objectMapper) {
         this.service = service;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
@@ -42,6 +50,18 @@ public class ItemController {
         return service.save(itemDto, userId);
     }
 
+    @PostMapping(path = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ItemImportResult importItems(InputStream body,
+                                        @RequestHeader("X-Sharer-User-Id") Long userId) {
+        return service.importItems(new ItemJsonArrayReader(body, objectMapper.reader()), userId);
+    }
+
+    @PostMapping(path = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ItemImportResult importItemsNdjson(InputStream body,
+                                              @RequestHeader("X-Sharer-User-Id") Long userId) {
+        return service.importItems(new ItemNdjsonReader(body, objectMapper.reader()), userId);
+    }
+
     @PostMapping("/{itemId}/comment")
     public CommentDtoInfo saveComment(@PathVariable Long itemId,
                                       @RequestBody CommentDto commentDto,
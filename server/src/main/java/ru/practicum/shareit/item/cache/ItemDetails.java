@@ -0,0 +1,25 @@
+package ru.practicum.shareit.item.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.item.dto.ItemDtoInfo;
+
+import java.time.LocalDateTime;
+
+/**
+ * Both views of an item page built from one load: the owner sees last and next bookings, everyone else
+ * only the item and its comments. {@code validUntil} is the moment the owner view goes stale by itself
+ * because a booking starts or ends, {@code null} if there is no such booking.
+ */
+@Getter
+@AllArgsConstructor
+public class ItemDetails {
+    private final Long ownerId;
+    private final ItemDtoInfo ownerView;
+    private final ItemDtoInfo viewerView;
+    private final LocalDateTime validUntil;
+
+    public ItemDtoInfo forUser(Long userId) {
+        return ownerId.equals(userId) ? ownerView : viewerView;
+    }
+}
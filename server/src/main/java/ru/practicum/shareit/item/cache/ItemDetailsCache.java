@@ -0,0 +1,81 @@
+package ru.practicum.shareit.item.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.util.TransactionUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+/**
+ * Assembled item pages by item id. Entries live for at most the configured ttl and never past the next
+ * booking boundary of the item. Services evict an item after committing anything that changes its page.
+ * <p>
+ * Loading runs inside the cache's compute, so an eviction for the same item waits for a running load and
+ * then drops its result, and a load that starts after the eviction already reads the committed data.
+ */
+@Component
+public class ItemDetailsCache implements MeterBinder {
+    public static final String CACHE_NAME = "itemDetails";
+
+    private final Cache<Long, ItemDetails> cache;
+
+    public ItemDetailsCache(@Value("${shareit.item-cache.max-size:10000}") long maxSize,
+                            @Value("${shareit.item-cache.ttl:5m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new BookingBoundaryExpiry(ttl))
+                .recordStats()
+                .build();
+    }
+
+    public ItemDetails get(Long itemId, Function<Long, ItemDetails> loader) {
+        return cache.get(itemId, loader);
+    }
+
+    public void evict(Long itemId) {
+        TransactionUtils.afterCommit(() -> cache.invalidate(itemId));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+
+    private static class BookingBoundaryExpiry implements Expiry<Long, ItemDetails> {
+        private final Duration ttl;
+
+        BookingBoundaryExpiry(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        @Override
+        public long expireAfterCreate(Long itemId, ItemDetails details, long currentTime) {
+            if (details.getValidUntil() == null) {
+                return ttl.toNanos();
+            }
+            Duration untilBoundary = Duration.between(LocalDateTime.now(), details.getValidUntil());
+            if (untilBoundary.isNegative()) {
+                return 0;
+            }
+            return Math.min(ttl.toNanos(), untilBoundary.toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(Long itemId, ItemDetails details, long currentTime, long currentDuration) {
+            return expireAfterCreate(itemId, details, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Long itemId, ItemDetails details, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -21,11 +21,13 @@ public class Comment {
     private Long id;
     @Column(nullable = false, length = 1000)
     private String text;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_id", nullable = false)
+    @ToString.Exclude
     private Item item;
-    @OneToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "author_id", nullable = false)
+    @ToString.Exclude
     private User author;
     @Column(nullable = false)
     private LocalDateTime created;
@@ -1,9 +1,21 @@
 package ru.practicum.shareit.item.comment;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentStorage extends JpaRepository<Comment, Long> {
-    List<Comment> findAllByItemId(Long itemId);
+    @Query("select c from Comment c " +
+            "join fetch c.author " +
+            "where c.item.id = :itemId")
+    List<Comment> findAllByItemId(@Param("itemId") Long itemId);
+
+    @Query("select c from Comment c " +
+            "join fetch c.author " +
+            "where c.item.id in :itemIds " +
+            "order by c.id")
+    List<Comment> findAllByItemIdIn(@Param("itemIds") Collection<Long> itemIds);
 }
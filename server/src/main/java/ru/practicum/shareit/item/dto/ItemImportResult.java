@@ -0,0 +1,28 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@EqualsAndHashCode
+public class ItemImportResult {
+    private int imported;
+    private List<RowError> errors = new ArrayList<>();
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @ToString
+    @EqualsAndHashCode
+    public static class RowError {
+        private int row;
+        private String error;
+    }
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * One record of an item import: either the parsed item or the reason it could not be parsed.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class ItemImportRow {
+    private final ItemDto item;
+    private final String error;
+
+    public static ItemImportRow of(ItemDto item) {
+        return new ItemImportRow(item, null);
+    }
+
+    public static ItemImportRow failed(String error) {
+        return new ItemImportRow(null, error);
+    }
+}
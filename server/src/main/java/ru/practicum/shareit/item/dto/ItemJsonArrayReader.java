@@ -0,0 +1,80 @@
+package ru.practicum.shareit.item.dto;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads a JSON array body one element at a time, so an import never holds more than the current element in memory.
+ * An element that is not a valid item becomes a failed row; malformed JSON ends the import with a failed row,
+ * since nothing after it can be read reliably.
+ */
+public class ItemJsonArrayReader implements Iterator<ItemImportRow> {
+    private final JsonParser parser;
+    private final ObjectReader itemReader;
+    private boolean started;
+    private boolean finished;
+    private ItemImportRow nextRow;
+
+    public ItemJsonArrayReader(InputStream body, ObjectReader itemReader) {
+        this.itemReader = itemReader.forType(ItemDto.class);
+        try {
+            this.parser = this.itemReader.createParser(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextRow == null && !finished) {
+            nextRow = readRow();
+        }
+        return nextRow != null;
+    }
+
+    @Override
+    public ItemImportRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        ItemImportRow row = nextRow;
+        nextRow = null;
+        return row;
+    }
+
+    private ItemImportRow readRow() {
+        try {
+            if (!started) {
+                started = true;
+                if (parser.nextToken() != JsonToken.START_ARRAY) {
+                    finished = true;
+                    return ItemImportRow.failed("Ожидается JSON-массив вещей");
+                }
+            }
+            if (parser.nextToken() == JsonToken.END_ARRAY) {
+                finished = true;
+                return null;
+            }
+            JsonNode element = itemReader.readTree(parser);
+            try {
+                return ItemImportRow.of(itemReader.readValue(element));
+            } catch (JsonProcessingException e) {
+                return ItemImportRow.failed("Некорректный JSON: " + e.getOriginalMessage());
+            }
+        } catch (JsonProcessingException e) {
+            finished = true;
+            return ItemImportRow.failed("Некорректный JSON: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.dto;
 
+import ru.practicum.shareit.booking.dto.ItemBookingView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.item.comment.Comment;
 import ru.practicum.shareit.item.model.Item;
@@ -82,6 +83,23 @@ public class ItemMapper {
                         .collect(Collectors.toList())));
     }
 
+    public static ItemDtoInfo convertToItemDtoInfo(Item item, ItemBookingView lastBooking,
+                                                   ItemBookingView nextBooking, List<Comment> comments) {
+        return new ItemDtoInfo(item.getId(),
+                item.getName(),
+                item.getDescription(),
+                item.getAvailable(),
+                lastBooking == null ? null : convertBookingForItemDtoInfo(lastBooking),
+                nextBooking == null ? null : convertBookingForItemDtoInfo(nextBooking),
+                new ArrayList<>(comments.stream()
+                        .map(ItemMapper::convertCommentForItemDtoInfo)
+                        .collect(Collectors.toList())));
+    }
+
+    private static ItemDtoInfo.Booking convertBookingForItemDtoInfo(ItemBookingView booking) {
+        return new ItemDtoInfo.Booking(booking.getId(), booking.getBookerId());
+    }
+
     private static ItemDtoInfo.Comment convertCommentForItemDtoInfo(Comment comment) {
         return new ItemDtoInfo.Comment(comment.getId(),
                 comment.getText(),
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.item.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads an NDJSON body one line at a time, so an import never holds more than the current line in memory.
+ * Blank lines are skipped; a line that is not a valid item becomes a failed row instead of ending the import.
+ */
+public class ItemNdjsonReader implements Iterator<ItemImportRow> {
+    private final BufferedReader reader;
+    private final ObjectReader itemReader;
+    private String nextLine;
+
+    public ItemNdjsonReader(InputStream body, ObjectReader itemReader) {
+        this.reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        this.itemReader = itemReader.forType(ItemDto.class);
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            while (nextLine == null) {
+                String line = reader.readLine();
+                if (line == null) {
+                    return false;
+                }
+                if (!line.isBlank()) {
+                    nextLine = line;
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public ItemImportRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        String line = nextLine;
+        nextLine = null;
+        try {
+            return ItemImportRow.of(itemReader.readValue(line));
+        } catch (JsonProcessingException e) {
+            return ItemImportRow.failed("Некорректный JSON: " + e.getOriginalMessage());
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package ru.practicum.shareit.item.model;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
@@ -13,24 +16,32 @@ import javax.persistence.*;
 @ToString
 @Entity
 @Table(name = "items")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "items")
+@DynamicUpdate
 @EqualsAndHashCode
 public class Item {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
     @Column(name = "item_id", nullable = false)
     private Long id;
     @Column(name = "item_name", nullable = false)
     private String name;
     @Column(nullable = false, length = 1000)
     private String description;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "owner_id", nullable = false)
+    @ToString.Exclude
     private User owner;
     @Column(nullable = false)
     private Boolean available;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "request_id")
+    @ToString.Exclude
     private ItemRequest request;
+    @Version
+    private long version;
 
     public Item(Long id, String name, String description, User owner, Boolean available) {
         this.id = id;
@@ -39,4 +50,9 @@ public class Item {
         this.owner = owner;
         this.available = available;
     }
+
+    public Item(Long id, String name, String description, User owner, Boolean available, ItemRequest request) {
+        this(id, name, description, owner, available);
+        this.request = request;
+    }
 }
@@ -0,0 +1,152 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemSearchView;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.ItemStorage;
+import ru.practicum.shareit.util.TransactionUtils;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class ItemSearchIndex {
+
+    private final ItemStorage storage;
+    private final NavigableMap<String, Set<Long>> itemsByTerm = new TreeMap<>();
+    private final Map<Long, Set<String>> termsByItem = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public ItemSearchIndex(ItemStorage storage) {
+        this.storage = storage;
+    }
+
+    @PostConstruct
+    public void warmUp() {
+        List<ItemSearchView> items = storage.findAllAvailableForSearch();
+        lock.writeLock().lock();
+        try {
+            itemsByTerm.clear();
+            termsByItem.clear();
+            items.forEach(item -> put(item.getId(), item.getName(), item.getDescription()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Item search index loaded with {} items and {} terms", items.size(), itemsByTerm.size());
+    }
+
+    public List<Long> search(String text, Integer page, Integer size) {
+        Set<String> queryTerms = ItemTextAnalyzer.analyze(text);
+        if (queryTerms.isEmpty()) {
+            return new ArrayList<>();
+        }
+        TreeSet<Long> found = null;
+        lock.readLock().lock();
+        try {
+            for (String queryTerm : queryTerms) {
+                Set<Long> termItems = itemsByTerm.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, true)
+                        .values().stream()
+                        .flatMap(Set::stream)
+                        .collect(Collectors.toSet());
+                if (found == null) {
+                    found = new TreeSet<>(termItems);
+                } else {
+                    found.retainAll(termItems);
+                }
+                if (found.isEmpty()) {
+                    return new ArrayList<>();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return found.stream()
+                .skip((long) page * size)
+                .limit(size)
+                .collect(Collectors.toList());
+    }
+
+    public void index(Item item) {
+        Long id = item.getId();
+        String name = item.getName();
+        String description = item.getDescription();
+        boolean available = Boolean.TRUE.equals(item.getAvailable());
+        TransactionUtils.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                delete(id);
+                if (available) {
+                    put(id, name, description);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Same as {@link #index(Item)} for many new items, with one write lock after commit for all of them.
+     */
+    public void indexAll(Collection<Item> items) {
+        List<Item> available = items.stream()
+                .filter(item -> Boolean.TRUE.equals(item.getAvailable()))
+                .collect(Collectors.toList());
+        if (available.isEmpty()) {
+            return;
+        }
+        TransactionUtils.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                available.forEach(item -> put(item.getId(), item.getName(), item.getDescription()));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void remove(Long itemId) {
+        TransactionUtils.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                delete(itemId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    private void put(Long itemId, String name, String description) {
+        Set<String> terms = new HashSet<>(ItemTextAnalyzer.analyze(name));
+        terms.addAll(ItemTextAnalyzer.analyze(description));
+        terms.forEach(term -> itemsByTerm.computeIfAbsent(term, key -> new HashSet<>()).add(itemId));
+        termsByItem.put(itemId, terms);
+    }
+
+    private void delete(Long itemId) {
+        Set<String> terms = termsByItem.remove(itemId);
+        if (terms == null) {
+            return;
+        }
+        terms.forEach(term -> {
+            Set<Long> termItems = itemsByTerm.get(term);
+            termItems.remove(itemId);
+            if (termItems.isEmpty()) {
+                itemsByTerm.remove(term);
+            }
+        });
+    }
+}
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+@UtilityClass
+public class ItemTextAnalyzer {
+    private static final Pattern SEPARATOR = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final Pattern CYRILLIC = Pattern.compile(".*\\p{IsCyrillic}.*");
+    private static final int MIN_STEM_LENGTH = 2;
+    private static final List<String> RUSSIAN_ENDINGS = Arrays.stream(new String[]{
+                    "иями", "ями", "ами", "иях", "ях", "ах", "ого", "его", "ому", "ему", "ыми", "ими", "ией",
+                    "ей", "ой", "ий", "ый", "ая", "яя", "ое", "ее", "ые", "ие", "ую", "юю", "ом", "ем", "ам",
+                    "ям", "ов", "ев", "ию", "ия", "ью", "ье", "ья", "ьи", "а", "я", "о", "е", "ы", "и", "у",
+                    "ю", "ь", "й"})
+            .sorted(Comparator.comparingInt(String::length).reversed())
+            .collect(Collectors.toList());
+
+    public static Set<String> analyze(String text) {
+        if (text == null || text.isBlank()) {
+            return Set.of();
+        }
+        return Arrays.stream(SEPARATOR.split(text.toLowerCase(Locale.ROOT).replace('ё', 'е')))
+                .filter(token -> !token.isEmpty())
+                .map(ItemTextAnalyzer::stem)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    static String stem(String token) {
+        if (CYRILLIC.matcher(token).matches()) {
+            return stemRussian(token);
+        }
+        return stemEnglish(token);
+    }
+
+    private static String stemRussian(String token) {
+        for (String ending : RUSSIAN_ENDINGS) {
+            if (token.endsWith(ending) && token.length() - ending.length() >= MIN_STEM_LENGTH) {
+                return token.substring(0, token.length() - ending.length());
+            }
+        }
+        return token;
+    }
+
+    private static String stemEnglish(String token) {
+        if (token.endsWith("ies") && token.length() > 4) {
+            return token.substring(0, token.length() - 3) + "y";
+        }
+        if (token.endsWith("sses") || token.endsWith("xes") || token.endsWith("zes")
+                || token.endsWith("ches") || token.endsWith("shes")) {
+            return token.substring(0, token.length() - 2);
+        }
+        if (token.endsWith("s") && !token.endsWith("ss") && token.length() > 3) {
+            return token.substring(0, token.length() - 1);
+        }
+        if (token.endsWith("ing") && token.length() > 5) {
+            return token.substring(0, token.length() - 3);
+        }
+        if (token.endsWith("ed") && token.length() > 4) {
+            return token.substring(0, token.length() - 2);
+        }
+        return token;
+    }
+}
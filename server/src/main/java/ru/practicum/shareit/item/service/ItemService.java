@@ -4,13 +4,18 @@ import ru.practicum.shareit.item.comment.dto.CommentDto;
 import ru.practicum.shareit.item.comment.dto.CommentDtoInfo;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoInfo;
+import ru.practicum.shareit.item.dto.ItemImportResult;
+import ru.practicum.shareit.item.dto.ItemImportRow;
 
+import java.util.Iterator;
 import java.util.List;
 
 public interface ItemService {
 
     ItemDto save(ItemDto itemDto, Long userId);
 
+    ItemImportResult importItems(Iterator<ItemImportRow> rows, Long userId);
+
     ItemDto update(String updatedFields, Long itemId, Long userId);
 
     ItemDtoInfo get(Long id, Long userId);
@@ -1,18 +1,18 @@
 package ru.practicum.shareit.item.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.ItemBookingView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.storage.BookingStorage;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.UnavailableForUserException;
-import ru.practicum.shareit.exception.UpdateFailedException;
+import ru.practicum.shareit.item.cache.ItemDetails;
+import ru.practicum.shareit.item.cache.ItemDetailsCache;
 import ru.practicum.shareit.item.comment.Comment;
 import ru.practicum.shareit.item.comment.CommentStorage;
 import ru.practicum.shareit.item.comment.dto.CommentDto;
@@ -20,17 +20,29 @@ import ru.practicum.shareit.item.comment.dto.CommentDtoInfo;
 import ru.practicum.shareit.item.comment.dto.CommentMapper;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoInfo;
+import ru.practicum.shareit.item.dto.ItemImportResult;
+import ru.practicum.shareit.item.dto.ItemImportRow;
 import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.item.storage.ItemStorage;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.storage.ItemRequestStorage;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.storage.UserStorage;
+import ru.practicum.shareit.util.PartialUpdateUtils;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.user.service.UserServiceImpl.USER_NOT_FOUND;
@@ -44,17 +56,34 @@ public class ItemServiceImpl implements ItemService {
     private final BookingStorage bookingStorage;
     private final CommentStorage commentStorage;
     private final ItemRequestStorage itemRequestStorage;
+    private final ItemSearchIndex searchIndex;
+    private final ItemDetailsCache detailsCache;
+    @PersistenceContext
+    private EntityManager entityManager;
     public static final Sort SORT = Sort.by(Sort.Direction.ASC, "id");
     public static final String ITEM_NOT_FOUND = "Вещь с id - %d не найдена";
+    /**
+     * Rows persisted between flushes of an import, a multiple of {@code hibernate.jdbc.batch_size}.
+     */
+    private static final int IMPORT_CHUNK_SIZE = 500;
+    /**
+     * Column widths of {@code items.item_name} and {@code items.description}. A longer value would fail the whole
+     * chunk at flush, so it is reported as a row error instead.
+     */
+    private static final int NAME_MAX_LENGTH = 255;
+    private static final int DESCRIPTION_MAX_LENGTH = 1000;
 
     public ItemServiceImpl(ItemStorage storage, UserStorage userStorage,
                            BookingStorage bookingStorage, CommentStorage commentStorage,
-                           ItemRequestStorage itemRequestStorage) {
+                           ItemRequestStorage itemRequestStorage, ItemSearchIndex searchIndex,
+                           ItemDetailsCache detailsCache) {
         this.storage = storage;
         this.userStorage = userStorage;
         this.bookingStorage = bookingStorage;
         this.commentStorage = commentStorage;
         this.itemRequestStorage = itemRequestStorage;
+        this.searchIndex = searchIndex;
+        this.detailsCache = detailsCache;
     }
 
     @Transactional
@@ -66,25 +95,49 @@ public class ItemServiceImpl implements ItemService {
         ItemRequest itemRequest = requestId == null ? null : itemRequestStorage.findById(requestId).orElse(null);
         Item item = ItemMapper.convertToItem(itemDto, owner, itemRequest);
         item = storage.save(item);
+        searchIndex.index(item);
         if (itemRequest == null) {
             return ItemMapper.convertToItemDto(item);
         }
         return ItemMapper.convertToItemDtoWithRequestId(item);
     }
 
+    /**
+     * Imports items row by row in one transaction. Request ids are looked up once per chunk, inserts go out in
+     * JDBC batches on flush, and the persistence context is cleared after every chunk, so memory stays flat
+     * however many rows are streamed in. Invalid rows are reported and skipped, the rest are imported.
+     */
+    @Transactional
+    @Override
+    public ItemImportResult importItems(Iterator<ItemImportRow> rows, Long userId) {
+        checkContainsUserInStorage(userId);
+        ItemImportResult result = new ItemImportResult();
+        List<ItemImportRow> chunk = new ArrayList<>(IMPORT_CHUNK_SIZE);
+        int firstRow = 1;
+        while (rows.hasNext()) {
+            chunk.add(rows.next());
+            if (chunk.size() == IMPORT_CHUNK_SIZE) {
+                importChunk(chunk, firstRow, userId, result);
+                firstRow += chunk.size();
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, firstRow, userId, result);
+        }
+        return result;
+    }
+
     @Transactional
     @Override
     public ItemDto update(String updatedFields, Long itemId, Long userId) {
         Item updatedItem = storage.findByIdAndOwnerId(itemId, userId)
                 .orElseThrow(() -> new NotFoundException(String.format(ITEM_NOT_FOUND +
                         "у пользователя с id - %d", itemId, userId)));
-        ObjectMapper mapper = new ObjectMapper();
-        try {
-            updatedItem = mapper.readerForUpdating(updatedItem).readValue(updatedFields);
-        } catch (JsonProcessingException e) {
-            throw new UpdateFailedException("Не удалось обновить данные");
-        }
+        updatedItem = PartialUpdateUtils.applyUpdate(updatedItem, updatedFields);
         storage.save(updatedItem);
+        searchIndex.index(updatedItem);
+        detailsCache.evict(itemId);
         if (updatedItem.getRequest() != null) {
             return ItemMapper.convertToItemDtoWithRequestId(updatedItem);
         }
@@ -93,12 +146,7 @@ public class ItemServiceImpl implements ItemService {
 
     @Override
     public ItemDtoInfo get(Long id, Long userId) {
-        Item item = storage.findById(id)
-                .orElseThrow(() -> new NotFoundException(String.format(ITEM_NOT_FOUND, id)));
-        Booking lastBooking = bookingStorage.findLastBooking(id, LocalDateTime.now(), userId).orElse(null);
-        Booking nextBooking = bookingStorage.findNextBooking(id, LocalDateTime.now(), userId).orElse(null);
-        List<Comment> comments = commentStorage.findAllByItemId(id);
-        return ItemMapper.convertToItemDtoInfo(item, lastBooking, nextBooking, comments);
+        return detailsCache.get(id, this::loadDetails).forUser(userId);
     }
 
     @Override
@@ -112,7 +160,10 @@ public class ItemServiceImpl implements ItemService {
     @Transactional
     @Override
     public void delete(Long id, Long userId) {
-        storage.deleteItemByIdAndOwnerId(id, userId);
+        if (storage.deleteItemByIdAndOwnerId(id, userId) > 0) {
+            searchIndex.remove(id);
+            detailsCache.evict(id);
+        }
     }
 
     @Override
@@ -121,9 +172,17 @@ public class ItemServiceImpl implements ItemService {
         if (text.isEmpty()) {
             return new ArrayList<>();
         }
-        Pageable pageable = PageRequest.of(from, size, Sort.by(Sort.Direction.ASC, "item_id"));
-        List<Item> searchedItems = storage.findAllByNameOrDescriptionLike(text, pageable);
-        return convertItemListToDto(searchedItems);
+        List<Long> itemIds = searchIndex.search(text, from, size);
+        if (itemIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Item> items = storage.findAllById(itemIds).stream()
+                .filter(item -> Boolean.TRUE.equals(item.getAvailable()))
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return convertItemListToDto(itemIds.stream()
+                .filter(items::containsKey)
+                .map(items::get)
+                .collect(Collectors.toList()));
     }
 
     @Transactional
@@ -142,9 +201,28 @@ public class ItemServiceImpl implements ItemService {
         Comment comment = CommentMapper.convertToComment(commentDto, item, author);
         comment.setCreated(LocalDateTime.now());
         commentStorage.save(comment);
+        detailsCache.evict(itemId);
         return CommentMapper.convertToCommentDtoInfo(comment, author);
     }
 
+    private ItemDetails loadDetails(Long id) {
+        Item item = storage.findById(id)
+                .orElseThrow(() -> new NotFoundException(String.format(ITEM_NOT_FOUND, id)));
+        Long ownerId = item.getOwner().getId();
+        LocalDateTime now = LocalDateTime.now();
+        Booking lastBooking = bookingStorage.findLastBooking(id, now, ownerId).orElse(null);
+        Booking nextBooking = bookingStorage.findNextBooking(id, now, ownerId).orElse(null);
+        List<Comment> comments = commentStorage.findAllByItemId(id);
+        LocalDateTime validUntil = bookingStorage.findNearestBookingEnd(id, now).orElse(null);
+        if (nextBooking != null && (validUntil == null || nextBooking.getStart().isBefore(validUntil))) {
+            validUntil = nextBooking.getStart();
+        }
+        return new ItemDetails(ownerId,
+                ItemMapper.convertToItemDtoInfo(item, lastBooking, nextBooking, comments),
+                ItemMapper.convertToItemDtoInfo(item, (Booking) null, null, comments),
+                validUntil);
+    }
+
     private void checkContainsUserInStorage(Long userId) {
         if (!userStorage.existsById(userId)) {
             throw new NotFoundException(String.format(USER_NOT_FOUND, userId));
@@ -152,11 +230,24 @@ public class ItemServiceImpl implements ItemService {
     }
 
     private List<ItemDtoInfo> convertItemListToDtoInfo(List<Item> items, Long userId) {
+        if (items.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> itemIds = items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, ItemBookingView> lastBookings = bookingStorage.findLastBookings(itemIds, now, userId).stream()
+                .collect(Collectors.toMap(ItemBookingView::getItemId, Function.identity()));
+        Map<Long, ItemBookingView> nextBookings = bookingStorage.findNextBookings(itemIds, now, userId).stream()
+                .collect(Collectors.toMap(ItemBookingView::getItemId, Function.identity()));
+        Map<Long, List<Comment>> comments = commentStorage.findAllByItemIdIn(itemIds).stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
         return items.stream()
                 .map(item -> ItemMapper.convertToItemDtoInfo(item,
-                        bookingStorage.findLastBooking(item.getId(), LocalDateTime.now(), userId).orElse(null),
-                        bookingStorage.findNextBooking(item.getId(), LocalDateTime.now(), userId).orElse(null),
-                        commentStorage.findAllByItemId(item.getId())))
+                        lastBookings.get(item.getId()),
+                        nextBookings.get(item.getId()),
+                        comments.getOrDefault(item.getId(), Collections.emptyList())))
                 .collect(Collectors.toList());
     }
 
@@ -165,4 +256,61 @@ public class ItemServiceImpl implements ItemService {
                 .map(ItemMapper::convertToItemDto)
                 .collect(Collectors.toList());
     }
+
+    private void importChunk(List<ItemImportRow> chunk, int firstRow, Long userId, ItemImportResult result) {
+        Set<Long> requestIds = chunk.stream()
+                .map(ItemImportRow::getItem)
+                .filter(Objects::nonNull)
+                .map(ItemDto::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, ItemRequest> requests = requestIds.isEmpty() ? Collections.emptyMap() :
+                itemRequestStorage.findAllById(requestIds).stream()
+                        .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
+        User owner = entityManager.getReference(User.class, userId);
+        List<Item> imported = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            ItemImportRow row = chunk.get(i);
+            String error = row.getError() != null ? row.getError() : validateImported(row.getItem(), requests);
+            if (error != null) {
+                result.getErrors().add(new ItemImportResult.RowError(firstRow + i, error));
+                continue;
+            }
+            ItemDto itemDto = row.getItem();
+            Item item = ItemMapper.convertToItem(itemDto, owner,
+                    itemDto.getRequestId() == null ? null : requests.get(itemDto.getRequestId()));
+            item.setId(null);
+            entityManager.persist(item);
+            imported.add(item);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        searchIndex.indexAll(imported);
+        result.setImported(result.getImported() + imported.size());
+    }
+
+    private static String validateImported(ItemDto itemDto, Map<Long, ItemRequest> requests) {
+        if (itemDto == null) {
+            return "Пустая запись";
+        }
+        if (itemDto.getName() == null || itemDto.getName().isBlank()) {
+            return "Название вещи не может быть пустым";
+        }
+        if (itemDto.getName().length() > NAME_MAX_LENGTH) {
+            return String.format("Название вещи длиннее %d символов", NAME_MAX_LENGTH);
+        }
+        if (itemDto.getDescription() == null || itemDto.getDescription().isBlank()) {
+            return "Описание вещи не может быть пустым";
+        }
+        if (itemDto.getDescription().length() > DESCRIPTION_MAX_LENGTH) {
+            return String.format("Описание вещи длиннее %d символов", DESCRIPTION_MAX_LENGTH);
+        }
+        if (itemDto.getAvailable() == null) {
+            return "Не указана доступность вещи";
+        }
+        if (itemDto.getRequestId() != null && !requests.containsKey(itemDto.getRequestId())) {
+            return String.format("Запрос с id - %d не найден", itemDto.getRequestId());
+        }
+        return null;
+    }
 }
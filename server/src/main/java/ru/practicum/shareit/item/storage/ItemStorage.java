@@ -4,8 +4,11 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.item.dto.ItemOfferView;
+import ru.practicum.shareit.item.dto.ItemSearchView;
 import ru.practicum.shareit.item.model.Item;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,7 +24,7 @@ public interface ItemStorage extends JpaRepository<Item, Long> {
 
     Optional<Item> findByIdAndOwnerId(Long id, Long ownerId);
 
-    void deleteItemByIdAndOwnerId(Long id, Long ownerId);
+    long deleteItemByIdAndOwnerId(Long id, Long ownerId);
 
     @Query(value = "select * from items i " +
             "where (i.item_name ilike %?1% " +
@@ -30,5 +33,20 @@ public interface ItemStorage extends JpaRepository<Item, Long> {
             "order by i.item_id", nativeQuery = true)
     List<Item> findAllByNameOrDescriptionLike(String text, Pageable pageable);
 
-    List<Item> findAllByRequestId(Long requestId);
+    @Query("select i.id as id, " +
+            "i.name as name, " +
+            "i.description as description, " +
+            "i.available as available, " +
+            "i.request.id as requestId " +
+            "from Item i " +
+            "where i.request.id in :requestIds " +
+            "order by i.id")
+    List<ItemOfferView> findAllOffersByRequestIdIn(@Param("requestIds") Collection<Long> requestIds);
+
+    @Query("select i.id as id, " +
+            "i.name as name, " +
+            "i.description as description " +
+            "from Item i " +
+            "where i.available = true")
+    List<ItemSearchView> findAllAvailableForSearch();
 }
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.metrics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * A JDBC statement executed inside a repository call: its SQL, the bound values in parameter order and how long
+ * the driver took. The values never leave the server, only their types are published.
+ */
+@Getter
+@AllArgsConstructor
+public class CapturedStatement {
+    private final String sql;
+    private final List<Object> parameters;
+    private final long durationMs;
+}
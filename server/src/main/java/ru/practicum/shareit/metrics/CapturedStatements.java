@@ -0,0 +1,44 @@
+package ru.practicum.shareit.metrics;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Statements executed by the current thread while {@link SlowQueryAspect} watches a repository call.
+ * {@link StatementCaptureListener} adds to it; outside of a repository call nothing is kept.
+ */
+@UtilityClass
+public class CapturedStatements {
+    private static final ThreadLocal<List<CapturedStatement>> STATEMENTS = new ThreadLocal<>();
+
+    /**
+     * Starts capturing, unless an outer repository call on this thread already does.
+     */
+    public static boolean start() {
+        if (STATEMENTS.get() != null) {
+            return false;
+        }
+        STATEMENTS.set(new ArrayList<>());
+        return true;
+    }
+
+    public static List<CapturedStatement> stop() {
+        List<CapturedStatement> statements = STATEMENTS.get();
+        STATEMENTS.remove();
+        return statements == null ? Collections.emptyList() : statements;
+    }
+
+    public static boolean isActive() {
+        return STATEMENTS.get() != null;
+    }
+
+    public static void add(CapturedStatement statement) {
+        List<CapturedStatement> statements = STATEMENTS.get();
+        if (statements != null) {
+            statements.add(statement);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes second-level and query cache hit rates from Hibernate statistics. Region names are the ones set in
+ * {@code @Cache(region = ...)} and application.conf.
+ */
+@Component
+public class HibernateCacheMetrics implements MeterBinder {
+    private final Statistics statistics;
+
+    public HibernateCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics == null) {
+                continue;
+            }
+            regionCounter(registry, region, "hit", regionStatistics, CacheRegionStatistics::getHitCount);
+            regionCounter(registry, region, "miss", regionStatistics, CacheRegionStatistics::getMissCount);
+            FunctionCounter.builder("hibernate.second.level.cache.puts", regionStatistics,
+                            CacheRegionStatistics::getPutCount)
+                    .tag("region", region)
+                    .register(registry);
+        }
+        FunctionCounter.builder("hibernate.cache.query.requests", statistics, Statistics::getQueryCacheHitCount)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("hibernate.cache.query.requests", statistics, Statistics::getQueryCacheMissCount)
+                .tag("result", "miss")
+                .register(registry);
+    }
+
+    private static void regionCounter(MeterRegistry registry, String region, String result,
+                                      CacheRegionStatistics regionStatistics,
+                                      ToDoubleFunction<CacheRegionStatistics> count) {
+        FunctionCounter.builder("hibernate.second.level.cache.requests", regionStatistics, count)
+                .tag("region", region)
+                .tag("result", result)
+                .register(registry);
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Publishes the number of SQL statements per request as {@code shareit.http.queries} and logs the requests
+ * that need more than {@code shareit.query-count.warn-threshold} of them, which is how N+1 loading shows up.
+ */
+@Slf4j
+public class QueryCountFilter extends OncePerRequestFilter {
+    public static final String QUERIES_SUMMARY = "shareit.http.queries";
+    private final MeterRegistry registry;
+    private final long warnThreshold;
+
+    public QueryCountFilter(MeterRegistry registry, long warnThreshold) {
+        this.registry = registry;
+        this.warnThreshold = warnThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        QueryCounter.reset();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            long queries = QueryCounter.get();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+            DistributionSummary.builder(QUERIES_SUMMARY)
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(registry)
+                    .record(queries);
+            if (queries > warnThreshold) {
+                log.warn("queries={} threshold={} method={} uri={} path={}", queries, warnThreshold,
+                        request.getMethod(), uri, request.getRequestURI());
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Registered through {@code hibernate.session_factory.statement_inspector}; sees every statement Hibernate prepares.
+ */
+public class QueryCountInspector implements StatementInspector {
+    @Override
+    public String inspect(String sql) {
+        QueryCounter.increment();
+        return sql;
+    }
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.metrics;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Number of SQL statements the current thread has prepared since the last {@link #reset()}.
+ * {@link QueryCountInspector} increments it, {@link QueryCountFilter} resets and reads it around every request.
+ */
+@UtilityClass
+public class QueryCounter {
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    public static void increment() {
+        COUNT.get()[0]++;
+    }
+
+    public static void reset() {
+        COUNT.get()[0] = 0;
+    }
+
+    public static long get() {
+        return COUNT.get()[0];
+    }
+}
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.metrics;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.data.domain.Slice;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Naming and row counting for repository calls seen by the metrics aspects.
+ */
+@UtilityClass
+class Repositories {
+    private static final Map<Class<?>, String> NAMES = new ConcurrentHashMap<>();
+
+    /**
+     * Simple name of our repository interface behind a Spring Data proxy, e.g. {@code BookingStorage}.
+     */
+    static String name(Object repository) {
+        return NAMES.computeIfAbsent(repository.getClass(), type ->
+                Arrays.stream(AopProxyUtils.proxiedUserInterfaces(repository))
+                        .filter(repositoryInterface -> repositoryInterface.getName().startsWith("ru.practicum"))
+                        .map(Class::getSimpleName)
+                        .findFirst()
+                        .orElse(type.getSimpleName()));
+    }
+
+    /**
+     * Rows behind a repository result, or {@code null} for results that are not rows (counts, flags, void).
+     */
+    static Integer rows(Object result) {
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        if (result instanceof Slice) {
+            return ((Slice<?>) result).getNumberOfElements();
+        }
+        if (result instanceof Optional) {
+            return ((Optional<?>) result).isPresent() ? 1 : 0;
+        }
+        if (result == null || result instanceof Number || result instanceof Boolean) {
+            return null;
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Times every call of the service layer and records how many rows each repository method returned.
+ * Repository call timings come from Spring Boot's own {@code spring.data.repository.invocations} timer.
+ */
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+    public static final String SERVICE_TIMER = "shareit.service";
+    public static final String REPOSITORY_ROWS = "shareit.repository.rows";
+    private final MeterRegistry registry;
+
+    public ServiceMetricsAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(public * ru.practicum.shareit..service.*Service.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(registry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(SERVICE_TIMER)
+                    .tag("service", ClassUtils.getUserClass(joinPoint.getTarget()).getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("exception", exception)
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+    }
+
+    @AfterReturning(pointcut = "execution(* org.springframework.data.repository.Repository+.*(..))",
+            returning = "result")
+    public void countRows(JoinPoint joinPoint, Object result) {
+        Integer rows = Repositories.rows(result);
+        if (rows == null) {
+            return;
+        }
+        DistributionSummary.builder(REPOSITORY_ROWS)
+                .tag("repository", Repositories.name(joinPoint.getTarget()))
+                .tag("method", joinPoint.getSignature().getName())
+                .register(registry)
+                .record(rows);
+    }
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.metrics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A repository call that took longer than {@code shareit.slow-query.threshold}, as shown by the
+ * {@code slowqueries} actuator endpoint. The plan is filled in later by a background {@code EXPLAIN}.
+ */
+@Getter
+public class SlowQuery {
+    private final Instant recordedAt;
+    private final String request;
+    private final String repository;
+    private final long durationMs;
+    private final Integer rows;
+    private final List<Statement> statements;
+    private volatile String plan;
+
+    public SlowQuery(Instant recordedAt, String request, String repository, long durationMs, Integer rows,
+                     List<Statement> statements) {
+        this.recordedAt = recordedAt;
+        this.request = request;
+        this.repository = repository;
+        this.durationMs = durationMs;
+        this.rows = rows;
+        this.statements = statements;
+    }
+
+    void setPlan(String plan) {
+        this.plan = plan;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Statement {
+        private final String sql;
+        private final List<String> parameterTypes;
+        private final long durationMs;
+    }
+}
@@ -0,0 +1,47 @@
+package ru.practicum.shareit.metrics;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Captures the statements of every outermost repository call and hands calls slower than
+ * {@code shareit.slow-query.threshold} to {@link SlowQueryLog}.
+ */
+@Aspect
+@Component
+public class SlowQueryAspect {
+    private final SlowQueryLog slowQueryLog;
+    private final long thresholdNanos;
+
+    public SlowQueryAspect(SlowQueryLog slowQueryLog,
+                           @Value("${shareit.slow-query.threshold:100ms}") Duration threshold) {
+        this.slowQueryLog = slowQueryLog;
+        this.thresholdNanos = threshold.toNanos();
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object watchRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!CapturedStatements.start()) {
+            return joinPoint.proceed();
+        }
+        long start = System.nanoTime();
+        Object result = null;
+        try {
+            result = joinPoint.proceed();
+            return result;
+        } finally {
+            long duration = System.nanoTime() - start;
+            List<CapturedStatement> statements = CapturedStatements.stop();
+            if (duration >= thresholdNanos) {
+                slowQueryLog.record(Repositories.name(joinPoint.getTarget()) + "." + joinPoint.getSignature().getName(),
+                        duration, Repositories.rows(result), statements);
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.metrics;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class SlowQueryConfig {
+
+    /**
+     * Routes the data source through datasource-proxy so {@link StatementCaptureListener} sees the SQL and bound
+     * parameters of each statement. The listener does nothing outside of a watched repository call.
+     */
+    @Bean
+    public static BeanPostProcessor statementCaptureDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource) || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create((DataSource) bean)
+                        .name(beanName)
+                        .listener(new StatementCaptureListener())
+                        .build();
+            }
+        };
+    }
+}
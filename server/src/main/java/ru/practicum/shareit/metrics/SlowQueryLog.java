@@ -0,0 +1,135 @@
+package ru.practicum.shareit.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.annotation.PreDestroy;
+import javax.servlet.http.HttpServletRequest;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * The last {@code shareit.slow-query.capacity} slow repository calls, newest first. The slowest select of each
+ * call is explained on a single background thread with its own connection, so a burst of slow queries neither
+ * delays requests nor takes more than one extra connection; explains that do not fit the queue are skipped.
+ */
+@Slf4j
+@Component
+public class SlowQueryLog {
+    private final DataSource dataSource;
+    private final int capacity;
+    private final boolean explain;
+    private final Deque<SlowQuery> queries = new ArrayDeque<>();
+    private final ThreadPoolExecutor explainExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(16), runnable -> {
+                Thread thread = new Thread(runnable, "slow-query-explain");
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.DiscardPolicy());
+
+    public SlowQueryLog(DataSource dataSource,
+                        @Value("${shareit.slow-query.capacity:100}") int capacity,
+                        @Value("${shareit.slow-query.explain:true}") boolean explain) {
+        this.dataSource = dataSource;
+        this.capacity = capacity;
+        this.explain = explain;
+    }
+
+    public void record(String repository, long durationNanos, Integer rows, List<CapturedStatement> statements) {
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(durationNanos);
+        String request = currentRequest();
+        SlowQuery query = new SlowQuery(Instant.now(), request, repository, durationMs, rows,
+                statements.stream()
+                        .map(statement -> new SlowQuery.Statement(statement.getSql(),
+                                parameterTypes(statement.getParameters()), statement.getDurationMs()))
+                        .collect(Collectors.toList()));
+        synchronized (queries) {
+            if (queries.size() >= capacity) {
+                queries.removeLast();
+            }
+            queries.addFirst(query);
+        }
+        log.warn("slowQuery repository={} durationMs={} rows={} statements={} request={}", repository, durationMs,
+                rows, statements.size(), request);
+        if (explain) {
+            statements.stream()
+                    .filter(statement -> statement.getSql().trim().regionMatches(true, 0, "select", 0, 6))
+                    .max(Comparator.comparingLong(CapturedStatement::getDurationMs))
+                    .ifPresent(statement -> explainExecutor.execute(() -> query.setPlan(explain(statement))));
+        }
+    }
+
+    public List<SlowQuery> getAll() {
+        synchronized (queries) {
+            return new ArrayList<>(queries);
+        }
+    }
+
+    public void clear() {
+        synchronized (queries) {
+            queries.clear();
+        }
+    }
+
+    String explain(CapturedStatement statement) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement explainStatement = connection.prepareStatement("EXPLAIN " + statement.getSql())) {
+            List<Object> parameters = statement.getParameters();
+            for (int i = 0; i < parameters.size(); i++) {
+                explainStatement.setObject(i + 1, parameters.get(i));
+            }
+            StringJoiner plan = new StringJoiner("\n");
+            try (ResultSet resultSet = explainStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    plan.add(resultSet.getString(1));
+                }
+            }
+            return plan.toString();
+        } catch (SQLException e) {
+            log.debug("EXPLAIN failed for {}: {}", statement.getSql(), e.getMessage());
+            return "EXPLAIN failed: " + e.getMessage();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        explainExecutor.shutdownNow();
+    }
+
+    private static List<String> parameterTypes(List<Object> parameters) {
+        if (parameters.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return parameters.stream()
+                .map(parameter -> parameter == null ? "null" : parameter.getClass().getSimpleName())
+                .collect(Collectors.toList());
+    }
+
+    private static String currentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes)) {
+            return null;
+        }
+        HttpServletRequest request = ((ServletRequestAttributes) attributes).getRequest();
+        return request.getMethod() + " " + request.getRequestURI();
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.metrics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Hands every statement run through the proxied data source to {@link CapturedStatements}. For batches only the
+ * first set of parameters is kept.
+ */
+public class StatementCaptureListener implements QueryExecutionListener {
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (!CapturedStatements.isActive()) {
+            return;
+        }
+        for (QueryInfo queryInfo : queryInfoList) {
+            List<Object> parameters = queryInfo.getParametersList().isEmpty()
+                    ? List.of()
+                    : parameterValues(queryInfo.getParametersList().get(0));
+            CapturedStatements.add(new CapturedStatement(queryInfo.getQuery(), parameters,
+                    execInfo.getElapsedTime()));
+        }
+    }
+
+    private static List<Object> parameterValues(List<ParameterSetOperation> operations) {
+        List<ParameterSetOperation> ordered = new ArrayList<>(operations);
+        ordered.sort(Comparator.comparingInt(StatementCaptureListener::parameterIndex));
+        List<Object> values = new ArrayList<>(ordered.size());
+        for (ParameterSetOperation operation : ordered) {
+            boolean isNull = "setNull".equals(operation.getMethod().getName());
+            values.add(isNull ? null : operation.getArgs()[1]);
+        }
+        return values;
+    }
+
+    private static int parameterIndex(ParameterSetOperation operation) {
+        Object index = operation.getArgs()[0];
+        return index instanceof Integer ? (Integer) index : Integer.MAX_VALUE;
+    }
+}
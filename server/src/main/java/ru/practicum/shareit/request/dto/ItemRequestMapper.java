@@ -1,6 +1,6 @@
 package ru.practicum.shareit.request.dto;
 
-import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.dto.ItemOfferView;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
@@ -29,7 +29,7 @@ public class ItemRequestMapper {
     }
 
     public static ItemRequestDtoInfo toItemRequestDtoInfo(ItemRequest itemRequest,
-                                                          List<Item> offers) {
+                                                          List<ItemOfferView> offers) {
         return new ItemRequestDtoInfo(itemRequest.getId(),
                                       itemRequest.getDescription(),
                                       itemRequest.getCreated(),
@@ -38,11 +38,11 @@ public class ItemRequestMapper {
                                               .collect(Collectors.toList())));
     }
 
-    private static ItemRequestDtoInfo.Item convertItemForRequest(Item item) {
-        return new ItemRequestDtoInfo.Item(item.getId(),
-                                           item.getName(),
-                                           item.getDescription(),
-                                           item.getAvailable(),
-                                           item.getRequest().getId());
+    private static ItemRequestDtoInfo.Item convertItemForRequest(ItemOfferView offer) {
+        return new ItemRequestDtoInfo.Item(offer.getId(),
+                                           offer.getName(),
+                                           offer.getDescription(),
+                                           offer.getAvailable(),
+                                           offer.getRequestId());
     }
 }
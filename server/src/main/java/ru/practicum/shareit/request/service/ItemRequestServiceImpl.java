@@ -5,7 +5,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.exception.NotFoundException;
-import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.dto.ItemOfferView;
 import ru.practicum.shareit.item.storage.ItemStorage;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestDtoInfo;
@@ -17,7 +17,9 @@ import ru.practicum.shareit.user.service.UserServiceImpl;
 import ru.practicum.shareit.user.storage.UserStorage;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -49,11 +51,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     public List<ItemRequestDtoInfo> getOwn(Long authorId, Integer page, Integer size) {
         checkUser(authorId);
         Pageable pageRequest = PageRequest.of(page, size, SORT);
-        List<ItemRequest> authorRequests = storage.findAllByAuthorId(authorId, pageRequest);
-
-        return authorRequests.stream()
-                .map(request -> ItemRequestMapper.toItemRequestDtoInfo(request, getOffers(request.getId())))
-                .collect(Collectors.toList());
+        return convertRequestList(storage.findAllByAuthorId(authorId, pageRequest));
     }
 
     @Override
@@ -68,11 +66,8 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         checkUser(userId);
         ItemRequest request = storage.findById(id)
                 .orElseThrow(() -> new NotFoundException(String.format("Запрос c id %d не найден", id)));
-        return ItemRequestMapper.toItemRequestDtoInfo(request, getOffers(request.getId()));
-    }
-
-    private List<Item> getOffers(Long requestId) {
-        return itemStorage.findAllByRequestId(requestId);
+        return ItemRequestMapper.toItemRequestDtoInfo(request,
+                itemStorage.findAllOffersByRequestIdIn(List.of(request.getId())));
     }
 
     private void checkUser(Long userId) {
@@ -82,8 +77,17 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     private List<ItemRequestDtoInfo> convertRequestList(List<ItemRequest> requests) {
+        if (requests.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Long> requestIds = requests.stream()
+                .map(ItemRequest::getId)
+                .collect(Collectors.toList());
+        Map<Long, List<ItemOfferView>> offers = itemStorage.findAllOffersByRequestIdIn(requestIds).stream()
+                .collect(Collectors.groupingBy(ItemOfferView::getRequestId));
         return requests.stream()
-                .map(request -> ItemRequestMapper.toItemRequestDtoInfo(request, getOffers(request.getId())))
+                .map(request -> ItemRequestMapper.toItemRequestDtoInfo(request,
+                        offers.getOrDefault(request.getId(), Collections.emptyList())))
                 .collect(Collectors.toList());
     }
 }
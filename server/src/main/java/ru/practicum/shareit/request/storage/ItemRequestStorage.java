@@ -2,13 +2,17 @@ package ru.practicum.shareit.request.storage;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.request.model.ItemRequest;
 
 import java.util.List;
 
 public interface ItemRequestStorage extends JpaRepository<ItemRequest, Long> {
 
-    List<ItemRequest> findAllByAuthorId(Long authorId, Pageable pageable);
+    @Query("select r from ItemRequest r where r.author.id = :authorId")
+    List<ItemRequest> findAllByAuthorId(@Param("authorId") Long authorId, Pageable pageable);
 
-    List<ItemRequest> findAllByAuthorIdNot(Long authorId, Pageable pageable);
+    @Query("select r from ItemRequest r where r.author.id <> :authorId")
+    List<ItemRequest> findAllByAuthorIdNot(@Param("authorId") Long authorId, Pageable pageable);
 }
@@ -1,15 +1,13 @@
 package ru.practicum.shareit.user.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.NotFoundException;
-import ru.practicum.shareit.exception.UpdateFailedException;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.storage.UserStorage;
+import ru.practicum.shareit.util.PartialUpdateUtils;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -52,12 +50,7 @@ public class UserServiceImpl implements UserService {
     public UserDto update(Long id, String updatedFields) {
         User updatedUser = storage.findById(id)
                 .orElseThrow(() -> new NotFoundException(String.format(USER_NOT_FOUND, id)));
-        ObjectMapper mapper = new ObjectMapper();
-        try {
-            updatedUser = mapper.readerForUpdating(updatedUser).readValue(updatedFields);
-        } catch (JsonProcessingException e) {
-            throw new UpdateFailedException("Не удалось обновить данные");
-        }
+        updatedUser = PartialUpdateUtils.applyUpdate(updatedUser, updatedFields);
         updatedUser = storage.save(updatedUser);
         return UserMapper.convertToUserDto(updatedUser);
     }
@@ -1,7 +1,17 @@
 package ru.practicum.shareit.user.storage;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.QueryHint;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
 public interface UserStorage extends JpaRepository<User, Long> {
+    @Query("select count(u) > 0 from User u where u.id = :id")
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    boolean existsById(@Param("id") Long id);
 }
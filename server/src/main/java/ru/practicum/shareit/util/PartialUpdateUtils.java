@@ -0,0 +1,42 @@
+package ru.practicum.shareit.util;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.experimental.UtilityClass;
+import ru.practicum.shareit.exception.UpdateFailedException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Applies a PATCH body to an entity: only the fields present in the JSON are overwritten.
+ * Readers are immutable and thread-safe, so one is built per entity type and reused.
+ */
+@UtilityClass
+public class PartialUpdateUtils {
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .addMixIn(Item.class, NotUpdatable.class)
+            .addMixIn(User.class, NotUpdatable.class);
+    private static final Map<Class<?>, ObjectReader> READERS = new ConcurrentHashMap<>();
+
+    public static <T> T applyUpdate(T target, String updatedFields) {
+        ObjectReader reader = READERS.computeIfAbsent(target.getClass(), MAPPER::readerFor);
+        try {
+            return reader.withValueToUpdate(target).readValue(updatedFields);
+        } catch (JsonProcessingException e) {
+            throw new UpdateFailedException("Не удалось обновить данные");
+        }
+    }
+
+    /**
+     * Identity, optimistic lock version and relations are kept by the service, so a PATCH body carrying them
+     * leaves them as they are.
+     */
+    @JsonIgnoreProperties({"id", "version", "owner", "request"})
+    private interface NotUpdatable {
+    }
+}
@@ -55,3 +55,4 @@ CREATE TABLE IF NOT EXISTS comments
     CONSTRAINT fk_comment_items FOREIGN KEY (item_id) REFERENCES items (item_id)
 );
 
+
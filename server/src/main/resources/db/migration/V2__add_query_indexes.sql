@@ -0,0 +1,19 @@
+CREATE INDEX IF NOT EXISTS ix_bookings_item_start ON bookings (item_id, start_date);
+
+CREATE INDEX IF NOT EXISTS ix_bookings_item_end ON bookings (item_id, end_date);
+
+CREATE INDEX IF NOT EXISTS ix_bookings_booker_start ON bookings (booker_id, start_date, booking_id);
+
+CREATE INDEX IF NOT EXISTS ix_bookings_booker_item_status ON bookings (booker_id, item_id, status);
+
+CREATE INDEX IF NOT EXISTS ix_bookings_status ON bookings (status);
+
+CREATE INDEX IF NOT EXISTS ix_items_owner ON items (owner_id, item_id);
+
+CREATE INDEX IF NOT EXISTS ix_items_request ON items (request_id);
+
+CREATE INDEX IF NOT EXISTS ix_comments_item ON comments (item_id);
+
+CREATE INDEX IF NOT EXISTS ix_requests_author_created ON requests (author_id, created);
+
+CREATE INDEX IF NOT EXISTS ix_requests_created ON requests (created);
@@ -12,8 +12,11 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoInfo;
+import ru.practicum.shareit.booking.dto.BookingPage;
 import ru.practicum.shareit.booking.dto.GetAllBookingsRequest;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.model.State;
@@ -24,6 +27,7 @@ import ru.practicum.shareit.exception.UnchangeableStatusException;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.List;
 
 import static org.hamcrest.core.Is.is;
 import static org.mockito.ArgumentMatchers.any;
@@ -142,6 +146,26 @@ class BookingControllerTest {
                 .updateStatusOwner(bookingDtoInfo.getId(), true, 1L);
     }
 
+    @Test
+    void updateStatusOwnerBatch() throws Exception {
+        List<BookingDecisionDto> decisions = List.of(new BookingDecisionDto(1L, true),
+                new BookingDecisionDto(2L, false));
+        when(service.updateStatusOwner(anyList(), anyLong()))
+                .thenReturn(List.of(bookingDtoInfo));
+
+        mockMvc.perform(patch("/bookings")
+                        .header("X-Sharer-User-Id", "1")
+                        .content(mapper.writeValueAsString(decisions))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(bookingDtoInfo.getId()), Long.class))
+                .andExpect(jsonPath("$[0].status", is(bookingDtoInfo.getStatus().toString())));
+
+        verify(service, times(1))
+                .updateStatusOwner(decisions, 1L);
+    }
+
     @Test
     void get() throws Exception {
         when(service.get(anyLong(), anyLong())).thenReturn(bookingDtoInfo);
@@ -163,7 +187,7 @@ class BookingControllerTest {
 
     @Test
     void getAllByBookerAndState() throws Exception {
-        when(service.getAll(any())).thenReturn(Collections.emptyList());
+        when(service.getPage(any())).thenReturn(new BookingPage(Collections.emptyList(), null));
 
         mockMvc.perform(MockMvcRequestBuilders.get("/bookings")
                         .header("X-Sharer-User-Id", "1")
@@ -174,10 +198,29 @@ class BookingControllerTest {
                 .andExpect(content().json("[]"));
 
         verify(service, times(1))
-                .getAll(GetAllBookingsRequest.of(State.ALL, 1L,
+                .getPage(GetAllBookingsRequest.of(State.ALL, 1L,
                         false, 1, 1));
     }
 
+    @Test
+    void getAllByBookerAndStateWithCursor() throws Exception {
+        String nextCursor = new BookingCursor(bookingDtoInfo.getStart(), bookingDtoInfo.getId()).encode();
+        when(service.getPage(any())).thenReturn(new BookingPage(Collections.singletonList(bookingDtoInfo), nextCursor));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/bookings")
+                        .header("X-Sharer-User-Id", "1")
+                        .param("state", "ALL")
+                        .param("size", "1")
+                        .param("cursor", "cursor"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(BookingController.NEXT_CURSOR_HEADER, nextCursor))
+                .andExpect(jsonPath("$[0].id", is(bookingDtoInfo.getId()), Long.class));
+
+        verify(service, times(1))
+                .getPage(GetAllBookingsRequest.of(State.ALL, 1L,
+                        false, 0, 1, "cursor"));
+    }
+
     @Test
     void getAllByBookerAndUnsupportedState() throws Exception {
         mockMvc.perform(MockMvcRequestBuilders.get("/bookings")
@@ -188,12 +231,12 @@ class BookingControllerTest {
                 .andExpect(status().isInternalServerError());
 
         verify(service, times(0))
-                .getAll(any());
+                .getPage(any());
     }
 
     @Test
     void getAllByOwnerAndState() throws Exception {
-        when(service.getAll(any())).thenReturn(Collections.emptyList());
+        when(service.getPage(any())).thenReturn(new BookingPage(Collections.emptyList(), null));
 
         mockMvc.perform(MockMvcRequestBuilders.get("/bookings/owner")
                         .header("X-Sharer-User-Id", "1")
@@ -201,10 +244,11 @@ class BookingControllerTest {
                         .param("from", "1")
                         .param("size", "1"))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(BookingController.NEXT_CURSOR_HEADER))
                 .andExpect(content().json("[]"));
 
         verify(service, times(1))
-                .getAll(GetAllBookingsRequest.of(State.ALL, 1L,
+                .getPage(GetAllBookingsRequest.of(State.ALL, 1L,
                         true, 1, 1));
     }
 }
\ No newline at end of file
@@ -0,0 +1,180 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingInterval;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.storage.BookingStorage;
+import ru.practicum.shareit.booking.dto.BookingDtoInfo;
+import ru.practicum.shareit.exception.UnavailableItemException;
+import ru.practicum.shareit.exception.UnchangeableStatusException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.ItemStorage;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.storage.UserStorage;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs without a test transaction on purpose: every booking and approval commits on its own, as under real
+ * concurrent requests.
+ */
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingAdmissionStressTest {
+    private static final int ITEMS = 4;
+    private static final int BOOKERS = 8;
+    private static final int THREADS = 16;
+    private static final int BOOKINGS = 2000;
+
+    private final BookingService service;
+    private final BookingStorage storage;
+    private final ItemStorage itemStorage;
+    private final UserStorage userStorage;
+    private User owner;
+    private final List<User> bookers = new ArrayList<>();
+    private final List<Item> items = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        owner = userStorage.save(new User(null, "owner", "stress-owner@email.com"));
+        for (int i = 0; i < BOOKERS; i++) {
+            bookers.add(userStorage.save(new User(null, "booker" + i, "stress-booker" + i + "@email.com")));
+        }
+        for (int i = 0; i < ITEMS; i++) {
+            items.add(itemStorage.save(new Item(null, "item" + i, "description", owner, true)));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        List<Long> itemIds = items.stream().map(Item::getId).collect(Collectors.toList());
+        storage.deleteAll(storage.findAll().stream()
+                .filter(booking -> itemIds.contains(booking.getItem().getId()))
+                .collect(Collectors.toList()));
+        itemStorage.deleteAll(items);
+        userStorage.deleteAll(bookers);
+        userStorage.delete(owner);
+    }
+
+    @Test
+    void overlappingApprovalsNeverDoubleBook() throws Exception {
+        LocalDateTime base = LocalDateTime.now().plusDays(1).withNano(0);
+        Random random = new Random(42);
+        List<BookingDto> requests = new ArrayList<>();
+        List<Long> bookerIds = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            LocalDateTime start = base.plusHours(random.nextInt(24 * 30));
+            LocalDateTime end = start.plusHours(1 + random.nextInt(72));
+            requests.add(new BookingDto(null, items.get(random.nextInt(ITEMS)).getId(), start, end, null));
+            bookerIds.add(bookers.get(random.nextInt(BOOKERS)).getId());
+        }
+        AtomicInteger approved = new AtomicInteger();
+        AtomicInteger refused = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long started = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < BOOKINGS; i++) {
+                BookingDto request = requests.get(i);
+                Long bookerId = bookerIds.get(i);
+                futures.add(executor.submit(() -> {
+                    try {
+                        Long id = service.save(request, bookerId).getId();
+                        service.updateStatusOwner(id, true, owner.getId());
+                        approved.incrementAndGet();
+                    } catch (UnavailableItemException e) {
+                        refused.incrementAndGet();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        log.info("bookings={} threads={} approved={} refused={} seconds={} throughput={}/s", BOOKINGS, THREADS,
+                approved.get(), refused.get(), String.format("%.2f", seconds),
+                String.format("%.0f", BOOKINGS / seconds));
+
+        assertThat(approved.get() + refused.get()).isEqualTo(BOOKINGS);
+        assertThat(approved.get()).isPositive();
+        List<Long> itemIds = items.stream().map(Item::getId).collect(Collectors.toList());
+        Map<Long, List<BookingInterval>> approvedByItem = storage
+                .findAllIntervalsByStatusAndEndAfter(BookingStatus.APPROVED, LocalDateTime.now())
+                .stream()
+                .filter(interval -> itemIds.contains(interval.getItemId()))
+                .collect(Collectors.groupingBy(BookingInterval::getItemId));
+        assertThat(approvedByItem.values().stream().mapToInt(List::size).sum()).isEqualTo(approved.get());
+        approvedByItem.values().forEach(intervals -> {
+            intervals.sort(Comparator.comparing(BookingInterval::getStartDate));
+            for (int i = 1; i < intervals.size(); i++) {
+                assertThat(intervals.get(i).getStartDate())
+                        .isAfterOrEqualTo(intervals.get(i - 1).getEndDate());
+            }
+        });
+    }
+
+    @Test
+    void concurrentDecisionsOnOneBookingHaveOneWinner() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        Long id = service.save(new BookingDto(null, items.get(0).getId(), start, start.plusDays(1), null),
+                bookers.get(0).getId()).getId();
+        CountDownLatch ready = new CountDownLatch(1);
+        List<BookingDtoInfo> winners = new ArrayList<>();
+        AtomicInteger losers = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                boolean approved = i % 2 == 0;
+                futures.add(executor.submit(() -> {
+                    ready.await();
+                    try {
+                        BookingDtoInfo decided = service.updateStatusOwner(id, approved, owner.getId());
+                        synchronized (winners) {
+                            winners.add(decided);
+                        }
+                    } catch (UnchangeableStatusException e) {
+                        losers.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            ready.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(winners).hasSize(1);
+        assertThat(losers.get()).isEqualTo(THREADS - 1);
+        assertThat(storage.findStatusById(id)).contains(winners.get(0).getStatus());
+    }
+}
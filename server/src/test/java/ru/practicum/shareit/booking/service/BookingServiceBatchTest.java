@@ -0,0 +1,147 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDtoInfo;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.storage.BookingStorage;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.UnavailableItemException;
+import ru.practicum.shareit.exception.UnchangeableStatusException;
+import ru.practicum.shareit.exception.UpdateFailedException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.ItemStorage;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.storage.UserStorage;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ru.practicum.shareit.metrics.QueryCountAssertions.assertQueryCountAtMost;
+import static ru.practicum.shareit.metrics.QueryCountAssertions.resetQueryCount;
+
+@Transactional
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingServiceBatchTest {
+
+    private final BookingService service;
+    private final BookingStorage storage;
+    private final UserStorage userStorage;
+    private final ItemStorage itemStorage;
+    private User owner;
+    private User booker;
+    private Item item;
+    private Item otherItem;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        owner = userStorage.save(new User(null, "owner", "owner@email.com"));
+        booker = userStorage.save(new User(null, "booker", "booker@email.com"));
+        item = itemStorage.save(new Item(null, "item", "description", owner, true));
+        otherItem = itemStorage.save(new Item(null, "other", "description", owner, true));
+        start = LocalDateTime.now().plusDays(1).withNano(0);
+    }
+
+    @Test
+    void appliesAllDecisionsInRequestOrder() {
+        Long first = waiting(item, 0, 2);
+        Long second = waiting(item, 1, 3);
+        Long third = waiting(otherItem, 0, 2);
+
+        List<BookingDtoInfo> decided = service.updateStatusOwner(List.of(
+                new BookingDecisionDto(third, true),
+                new BookingDecisionDto(first, true),
+                new BookingDecisionDto(second, false)), owner.getId());
+
+        assertThat(decided).extracting(BookingDtoInfo::getId).containsExactly(third, first, second);
+        assertThat(decided).extracting(BookingDtoInfo::getStatus)
+                .containsExactly(BookingStatus.APPROVED, BookingStatus.APPROVED, BookingStatus.REJECTED);
+        assertThat(storage.findStatusById(first)).contains(BookingStatus.APPROVED);
+        assertThat(storage.findStatusById(second)).contains(BookingStatus.REJECTED);
+        assertThat(storage.findStatusById(third)).contains(BookingStatus.APPROVED);
+    }
+
+    @Test
+    void readsOnceForWholeBatch() {
+        List<BookingDecisionDto> decisions = List.of(
+                new BookingDecisionDto(waiting(item, 0, 1), true),
+                new BookingDecisionDto(waiting(item, 1, 2), true),
+                new BookingDecisionDto(waiting(item, 2, 3), true),
+                new BookingDecisionDto(waiting(otherItem, 0, 1), true),
+                new BookingDecisionDto(waiting(otherItem, 0, 1), false));
+
+        resetQueryCount();
+        service.updateStatusOwner(decisions, owner.getId());
+
+        // the bookings and the approved intervals; the batch update itself goes through JDBC
+        assertQueryCountAtMost(2);
+    }
+
+    @Test
+    void refusesApprovalsOverlappingEachOther() {
+        Long first = waiting(item, 0, 2);
+        Long second = waiting(item, 1, 3);
+
+        assertThrows(UnavailableItemException.class, () -> service.updateStatusOwner(List.of(
+                new BookingDecisionDto(first, true),
+                new BookingDecisionDto(second, true)), owner.getId()));
+
+        assertThat(storage.findStatusById(first)).contains(BookingStatus.WAITING);
+    }
+
+    @Test
+    void refusesApprovalOverlappingApprovedBooking() {
+        storage.save(new Booking(null, start, start.plusDays(2), item, booker, BookingStatus.APPROVED));
+        Long waiting = waiting(item, 1, 3);
+
+        assertThrows(UnavailableItemException.class, () -> service.updateStatusOwner(List.of(
+                new BookingDecisionDto(waiting, true)), owner.getId()));
+    }
+
+    @Test
+    void refusesBatchWithForeignBooking() {
+        User stranger = userStorage.save(new User(null, "stranger", "stranger@email.com"));
+        Item foreignItem = itemStorage.save(new Item(null, "foreign", "description", stranger, true));
+        Long own = waiting(item, 0, 1);
+        Long foreign = waiting(foreignItem, 0, 1);
+
+        assertThrows(NotFoundException.class, () -> service.updateStatusOwner(List.of(
+                new BookingDecisionDto(own, true),
+                new BookingDecisionDto(foreign, true)), owner.getId()));
+    }
+
+    @Test
+    void refusesBatchWithDecidedBooking() {
+        Long waiting = waiting(item, 0, 1);
+        Long rejected = storage.save(new Booking(null, start, start.plusDays(1), otherItem, booker,
+                BookingStatus.REJECTED)).getId();
+
+        assertThrows(UnchangeableStatusException.class, () -> service.updateStatusOwner(List.of(
+                new BookingDecisionDto(waiting, false),
+                new BookingDecisionDto(rejected, true)), owner.getId()));
+    }
+
+    @Test
+    void refusesDuplicateBookingIds() {
+        Long waiting = waiting(item, 0, 1);
+
+        assertThrows(UpdateFailedException.class, () -> service.updateStatusOwner(List.of(
+                new BookingDecisionDto(waiting, true),
+                new BookingDecisionDto(waiting, false)), owner.getId()));
+    }
+
+    private Long waiting(Item bookedItem, int fromDay, int toDay) {
+        return storage.save(new Booking(null, start.plusDays(fromDay), start.plusDays(toDay), bookedItem, booker,
+                BookingStatus.WAITING)).getId();
+    }
+}
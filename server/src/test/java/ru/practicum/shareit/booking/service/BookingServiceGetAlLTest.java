@@ -2,18 +2,21 @@ package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
 import org.assertj.core.api.Assertions;
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingDtoInfo;
+import ru.practicum.shareit.booking.dto.BookingPage;
 import ru.practicum.shareit.booking.dto.BookingMapper;
 import ru.practicum.shareit.booking.dto.GetAllBookingsRequest;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.model.State;
 import ru.practicum.shareit.booking.storage.BookingStorage;
+import ru.practicum.shareit.exception.InvalidCursorException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.storage.ItemStorage;
 import ru.practicum.shareit.user.model.User;
@@ -24,6 +27,10 @@ import javax.persistence.TypedQuery;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ru.practicum.shareit.metrics.QueryCountAssertions.assertQueryCount;
+import static ru.practicum.shareit.metrics.QueryCountAssertions.resetQueryCount;
+
 @Transactional
 @SpringBootTest(properties = "db.name=test", webEnvironment = SpringBootTest.WebEnvironment.NONE)
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
@@ -378,4 +385,73 @@ class BookingServiceGetAlLTest {
                 .contains(BookingMapper.convertToBookingDtoInfo(booking4));
         Assertions.assertThat(allBookerBookings).contains(booking4);
     }
+
+    @Test
+    void getAllOwnerWithCursorTest() {
+        BookingPage firstPage = service.getPage(GetAllBookingsRequest.of(State.ALL, user1.getId(),
+                true, 0, 2));
+        String cursor = firstPage.getNextCursor();
+
+        BookingPage nextPage = service.getPage(GetAllBookingsRequest.of(State.ALL, user1.getId(),
+                true, 0, 2, cursor));
+        List<BookingDtoInfo> offsetPage = service.getAll(GetAllBookingsRequest.of(State.ALL, user1.getId(),
+                true, 2, 2));
+
+        Assertions.assertThat(firstPage.getBookings())
+                .hasSize(2)
+                .containsExactly(BookingMapper.convertToBookingDtoInfo(booking2),
+                        BookingMapper.convertToBookingDtoInfo(booking5));
+        Assertions.assertThat(cursor).isNotNull();
+        Assertions.assertThat(nextPage.getBookings())
+                .isEqualTo(offsetPage)
+                .containsExactly(BookingMapper.convertToBookingDtoInfo(booking1));
+        Assertions.assertThat(nextPage.getNextCursor()).isNull();
+    }
+
+    @Test
+    void getPageWithExactlyFullLastPageHasNoCursor() {
+        BookingPage page = service.getPage(GetAllBookingsRequest.of(State.ALL, user1.getId(),
+                true, 0, 3));
+
+        Assertions.assertThat(page.getBookings())
+                .containsExactly(BookingMapper.convertToBookingDtoInfo(booking2),
+                        BookingMapper.convertToBookingDtoInfo(booking5),
+                        BookingMapper.convertToBookingDtoInfo(booking1));
+        Assertions.assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void getAllWithInvalidCursorTest() {
+        GetAllBookingsRequest request = GetAllBookingsRequest.of(State.ALL, user1.getId(),
+                true, 0, 2, "not a cursor");
+
+        assertThrows(InvalidCursorException.class, () -> service.getAll(request));
+    }
+
+    @Test
+    void getAllSelectsPageInOneQuery() {
+        em.flush();
+        em.clear();
+        GetAllBookingsRequest request = GetAllBookingsRequest.of(State.ALL, user1.getId(),
+                true, 0, 10);
+
+        resetQueryCount();
+        List<BookingDtoInfo> ownerBookings = service.getAll(request);
+
+        Assertions.assertThat(ownerBookings).hasSize(3);
+        assertQueryCount(1);
+        Assertions.assertThat(em.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    void getFetchesItemAndBookerInOneQuery() {
+        em.flush();
+        em.clear();
+
+        resetQueryCount();
+        BookingDtoInfo bookingDtoInfo = service.get(booking1.getId(), user1.getId());
+
+        Assertions.assertThat(bookingDtoInfo).isEqualTo(BookingMapper.convertToBookingDtoInfo(booking1));
+        assertQueryCount(1);
+    }
 }
@@ -11,10 +11,12 @@ import ru.practicum.shareit.booking.dto.BookingDtoInfo;
 import ru.practicum.shareit.booking.dto.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.storage.ApprovedBookingIndex;
 import ru.practicum.shareit.booking.storage.BookingStorage;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.UnavailableItemException;
 import ru.practicum.shareit.exception.UnchangeableStatusException;
+import ru.practicum.shareit.item.cache.ItemDetailsCache;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.storage.ItemStorage;
 import ru.practicum.shareit.user.model.User;
@@ -43,13 +45,20 @@ class BookingServiceImplTest {
     private UserStorage userStorage;
     @Mock
     private ItemStorage itemStorage;
+    @Mock
+    private ApprovedBookingIndex approvedBookingIndex;
+    @Mock
+    private ItemDetailsCache itemDetailsCache;
+    @Mock
+    private BookingAdmission admission;
     private Booking booking;
     private Item item;
     private User owner;
 
     @BeforeEach
     void setUp() {
-        service = new BookingServiceImpl(storage, userStorage, itemStorage);
+        service = new BookingServiceImpl(storage, userStorage, itemStorage, approvedBookingIndex,
+                itemDetailsCache, admission);
         owner = new User(
                 1L,
                 "user",
@@ -74,7 +83,7 @@ class BookingServiceImplTest {
         when(userStorage.findById(anyLong())).thenReturn(Optional.of(owner));
         when(itemStorage.findByIdWhereOwnerIdNot(anyLong(), anyLong())).thenReturn(Optional.of(item));
         when(storage.save(any())).thenReturn(booking);
-        when(storage.reservedForDates(anyLong(), any(), any(), any())).thenReturn(false);
+        when(approvedBookingIndex.isReserved(anyLong(), any(), any())).thenReturn(false);
 
         final Booking bookingForSave = new Booking(
                 2L,
@@ -95,11 +104,12 @@ class BookingServiceImplTest {
                 .findById(owner.getId());
         verify(itemStorage, times(1))
                 .findByIdWhereOwnerIdNot(any(), any());
-        verify(storage, times(1))
-                .reservedForDates(booking.getItem().getId(), bookingForSave.getStart(),
-                        bookingForSave.getEnd(), BookingStatus.APPROVED);
+        verify(approvedBookingIndex, times(1))
+                .isReserved(booking.getItem().getId(), bookingForSave.getStart(), bookingForSave.getEnd());
         verify(storage, times(1))
                 .save(bookingForSave);
+        verify(itemDetailsCache, times(1))
+                .evict(item.getId());
     }
 
     @Test
@@ -141,7 +151,7 @@ class BookingServiceImplTest {
     void saveWithItemUnavailableItem() {
         when(userStorage.findById(anyLong())).thenReturn(Optional.of(owner));
         when(itemStorage.findByIdWhereOwnerIdNot(anyLong(), anyLong())).thenReturn(Optional.of(item));
-        when(storage.reservedForDates(anyLong(), any(), any(), any())).thenReturn(true);
+        when(approvedBookingIndex.isReserved(anyLong(), any(), any())).thenReturn(true);
 
         BookingDto bookingDto = BookingMapper.convertToBookingDto(booking);
         UnavailableItemException thrown = assertThrows(UnavailableItemException.class, () -> {
@@ -156,13 +166,13 @@ class BookingServiceImplTest {
                 .findById(anyLong());
         verify(itemStorage, times(1))
                 .findByIdWhereOwnerIdNot(anyLong(), anyLong());
-        verify(storage, times(1))
-                .reservedForDates(any(), any(), any(), any());
+        verify(approvedBookingIndex, times(1))
+                .isReserved(any(), any(), any());
     }
 
     @Test
     void updateWithBookingNotFound() {
-        when(storage.findBookingByIdAndItemOwnerId(anyLong(), anyLong())).thenReturn(Optional.empty());
+        when(storage.findInfoByIdAndItemOwnerId(anyLong(), anyLong())).thenReturn(Optional.empty());
 
         NotFoundException thrown = assertThrows(NotFoundException.class, () -> {
             service.updateStatusOwner(1L, false, 1L);
@@ -172,13 +182,16 @@ class BookingServiceImplTest {
                 .isEqualTo(String.format(BOOKING_NOT_FOUND, booking.getId()));
 
         verify(storage, times(1))
-                .findBookingByIdAndItemOwnerId(1L, 1L);
+                .findInfoByIdAndItemOwnerId(1L, 1L);
+        verify(storage, never())
+                .updateStatus(any(), any(), any());
     }
 
     @Test
     void updateWithUnchangeableStatus() {
         booking.setStatus(BookingStatus.REJECTED);
-        when(storage.findBookingByIdAndItemOwnerId(anyLong(), anyLong())).thenReturn(Optional.of(booking));
+        when(storage.findInfoByIdAndItemOwnerId(anyLong(), anyLong()))
+                .thenReturn(Optional.of(BookingMapper.convertToBookingDtoInfo(booking)));
 
         UnchangeableStatusException thrown = assertThrows(UnchangeableStatusException.class, () -> {
             service.updateStatusOwner(1L, false, 1L);
@@ -189,54 +202,104 @@ class BookingServiceImplTest {
                         "больше нельзя изменить", booking.getId(), booking.getStatus().name()));
 
         verify(storage, times(1))
-                .findBookingByIdAndItemOwnerId(1L, 1L);
+                .findInfoByIdAndItemOwnerId(1L, 1L);
+        verify(storage, never())
+                .updateStatus(any(), any(), any());
     }
 
+    @Test
+    void updateWithStatusChangedConcurrently() {
+        when(storage.findInfoByIdAndItemOwnerId(anyLong(), anyLong()))
+                .thenReturn(Optional.of(BookingMapper.convertToBookingDtoInfo(booking)));
+        when(storage.updateStatus(anyLong(), any(), any())).thenReturn(0);
+        when(storage.findStatusById(anyLong())).thenReturn(Optional.of(BookingStatus.APPROVED));
+
+        UnchangeableStatusException thrown = assertThrows(UnchangeableStatusException.class, () -> {
+            service.updateStatusOwner(1L, false, 1L);
+        });
+
+        assertThat(thrown.getMessage()).isNotNull()
+                .isEqualTo(String.format("Статус бронирования с id %d - %s " +
+                        "больше нельзя изменить", booking.getId(), BookingStatus.APPROVED.name()));
+
+        verify(storage, times(1))
+                .updateStatus(1L, BookingStatus.WAITING, BookingStatus.REJECTED);
+        verify(itemDetailsCache, never())
+                .evict(any());
+    }
 
     @Test
     void updateStatusOwnerApproved() {
-        when(storage.findBookingByIdAndItemOwnerId(anyLong(), anyLong())).thenReturn(Optional.of(booking));
-        when(storage.save(any())).thenReturn(booking);
+        when(storage.findInfoByIdAndItemOwnerId(anyLong(), anyLong()))
+                .thenReturn(Optional.of(BookingMapper.convertToBookingDtoInfo(booking)));
+        when(storage.approveIfNotReserved(anyLong(), anyLong(), any(), any(), any(), any())).thenReturn(1);
 
         final BookingDtoInfo bookingDtoInfo = service.updateStatusOwner(1L, true, 1L);
-        final Booking approvedBooking = new Booking(
-                booking.getId(),
-                booking.getStart(),
-                booking.getEnd(),
-                booking.getItem(),
-                booking.getBooker(),
-                BookingStatus.APPROVED);
 
+        booking.setStatus(BookingStatus.APPROVED);
         assertThat(bookingDtoInfo).isNotNull()
                 .isEqualTo(BookingMapper.convertToBookingDtoInfo(booking));
 
         verify(storage, times(1))
-                .findBookingByIdAndItemOwnerId(1L, 1L);
+                .findInfoByIdAndItemOwnerId(1L, 1L);
+        verify(admission, times(1))
+                .lock(item.getId());
         verify(storage, times(1))
-                .save(approvedBooking);
+                .approveIfNotReserved(1L, item.getId(), booking.getStart(), booking.getEnd(),
+                        BookingStatus.WAITING, BookingStatus.APPROVED);
+        verify(storage, never())
+                .save(any());
+        verify(approvedBookingIndex, times(1))
+                .add(item.getId(), booking.getStart(), booking.getEnd());
+        verify(itemDetailsCache, times(1))
+                .evict(item.getId());
+    }
+
+    @Test
+    void updateStatusOwnerApprovedWithOverlappingApproved() {
+        when(storage.findInfoByIdAndItemOwnerId(anyLong(), anyLong()))
+                .thenReturn(Optional.of(BookingMapper.convertToBookingDtoInfo(booking)));
+        when(storage.approveIfNotReserved(anyLong(), anyLong(), any(), any(), any(), any())).thenReturn(0);
+        when(storage.findStatusById(anyLong())).thenReturn(Optional.of(BookingStatus.WAITING));
+
+        UnavailableItemException thrown = assertThrows(UnavailableItemException.class, () -> {
+            service.updateStatusOwner(1L, true, 1L);
+        });
+
+        assertThat(thrown.getMessage()).isNotNull()
+                .isEqualTo(String.format("Вещь с id - %d уже забронирована " +
+                        "на эти даты", item.getId()));
+
+        verify(admission, times(1))
+                .lock(item.getId());
+        verify(approvedBookingIndex, never())
+                .add(any(), any(), any());
+        verify(itemDetailsCache, never())
+                .evict(any());
     }
 
     @Test
     void updateStatusOwnerRejected() {
-        when(storage.findBookingByIdAndItemOwnerId(anyLong(), anyLong())).thenReturn(Optional.of(booking));
-        when(storage.save(any())).thenReturn(booking);
+        when(storage.findInfoByIdAndItemOwnerId(anyLong(), anyLong()))
+                .thenReturn(Optional.of(BookingMapper.convertToBookingDtoInfo(booking)));
+        when(storage.updateStatus(anyLong(), any(), any())).thenReturn(1);
 
         final BookingDtoInfo bookingDtoInfo = service.updateStatusOwner(1L, false, 1L);
-        final Booking rejectedBooking = new Booking(
-                booking.getId(),
-                booking.getStart(),
-                booking.getEnd(),
-                booking.getItem(),
-                booking.getBooker(),
-                BookingStatus.REJECTED);
 
+        booking.setStatus(BookingStatus.REJECTED);
         assertThat(bookingDtoInfo).isNotNull()
                 .isEqualTo(BookingMapper.convertToBookingDtoInfo(booking));
 
         verify(storage, times(1))
-                .findBookingByIdAndItemOwnerId(1L, 1L);
+                .findInfoByIdAndItemOwnerId(1L, 1L);
         verify(storage, times(1))
-                .save(rejectedBooking);
+                .updateStatus(1L, BookingStatus.WAITING, BookingStatus.REJECTED);
+        verify(admission, never())
+                .lock(any());
+        verify(approvedBookingIndex, never())
+                .add(any(), any(), any());
+        verify(itemDetailsCache, times(1))
+                .evict(item.getId());
     }
 
     @Test
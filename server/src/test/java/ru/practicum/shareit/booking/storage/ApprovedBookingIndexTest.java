@@ -0,0 +1,111 @@
+package ru.practicum.shareit.booking.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.dto.BookingInterval;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ApprovedBookingIndexTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 12, 0);
+    @Mock
+    private BookingStorage storage;
+    private ApprovedBookingIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ApprovedBookingIndex(storage);
+    }
+
+    @Test
+    void isReservedForUnknownItem() {
+        assertThat(index.isReserved(1L, BASE, BASE.plusDays(1))).isFalse();
+    }
+
+    @Test
+    void isReservedForOverlappingDates() {
+        index.add(1L, BASE.plusDays(1), BASE.plusDays(3));
+
+        assertThat(index.isReserved(1L, BASE, BASE.plusDays(2))).isTrue();
+        assertThat(index.isReserved(1L, BASE.plusDays(2), BASE.plusDays(4))).isTrue();
+        assertThat(index.isReserved(1L, BASE.plusDays(1).plusHours(1), BASE.plusDays(2))).isTrue();
+        assertThat(index.isReserved(1L, BASE, BASE.plusDays(4))).isTrue();
+        assertThat(index.isReserved(2L, BASE, BASE.plusDays(4))).isFalse();
+    }
+
+    @Test
+    void isReservedForAdjacentDates() {
+        index.add(1L, BASE.plusDays(1), BASE.plusDays(3));
+
+        assertThat(index.isReserved(1L, BASE, BASE.plusDays(1))).isFalse();
+        assertThat(index.isReserved(1L, BASE.plusDays(3), BASE.plusDays(4))).isFalse();
+    }
+
+    @Test
+    void isReservedAfterMergingIntervals() {
+        index.add(1L, BASE.plusDays(1), BASE.plusDays(2));
+        index.add(1L, BASE.plusDays(5), BASE.plusDays(6));
+        index.add(1L, BASE.plusDays(8), BASE.plusDays(9));
+        index.add(1L, BASE.plusDays(1).plusHours(12), BASE.plusDays(5).plusHours(12));
+
+        assertThat(index.isReserved(1L, BASE.plusDays(3), BASE.plusDays(4))).isTrue();
+        assertThat(index.isReserved(1L, BASE.plusDays(6), BASE.plusDays(8))).isFalse();
+        assertThat(index.isReserved(1L, BASE.plusDays(7), BASE.plusDays(10))).isTrue();
+        assertThat(index.isReserved(1L, BASE.plusDays(9), BASE.plusDays(10))).isFalse();
+    }
+
+    @Test
+    void warmUp() {
+        when(storage.findAllIntervalsByStatusAndEndAfter(eq(BookingStatus.APPROVED), any()))
+                .thenReturn(List.of(interval(1L, BASE, BASE.plusDays(1)),
+                        interval(2L, BASE.plusDays(2), BASE.plusDays(3))));
+
+        index.warmUp();
+
+        assertThat(index.isReserved(1L, BASE.minusHours(1), BASE.plusHours(1))).isTrue();
+        assertThat(index.isReserved(2L, BASE.minusHours(1), BASE.plusHours(1))).isFalse();
+        assertThat(index.isReserved(2L, BASE.plusDays(2), BASE.plusDays(4))).isTrue();
+
+        verify(storage, times(1))
+                .findAllIntervalsByStatusAndEndAfter(eq(BookingStatus.APPROVED), any());
+    }
+
+    @Test
+    void expiredIntervalsAreDroppedOnAdd() {
+        LocalDateTime past = LocalDateTime.now().minusDays(10);
+        index.add(1L, past, past.plusDays(1));
+        index.add(1L, BASE, BASE.plusDays(1));
+
+        assertThat(index.isReserved(1L, past, past.plusDays(1))).isFalse();
+        assertThat(index.isReserved(1L, BASE, BASE.plusDays(1))).isTrue();
+    }
+
+    private static BookingInterval interval(Long itemId, LocalDateTime start, LocalDateTime end) {
+        return new BookingInterval() {
+            @Override
+            public Long getItemId() {
+                return itemId;
+            }
+
+            @Override
+            public LocalDateTime getStartDate() {
+                return start;
+            }
+
+            @Override
+            public LocalDateTime getEndDate() {
+                return end;
+            }
+        };
+    }
+}
@@ -0,0 +1,138 @@
+package ru.practicum.shareit.booking.storage;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the Postgres-only V3 migration against a real Postgres, for example the one from docker-compose:
+ * {@code mvn test -Dshareit.test.postgres.url=jdbc:postgresql://localhost:5432/shareIt}. Each test works in a
+ * schema of its own, which is dropped afterwards.
+ */
+@EnabledIfSystemProperty(named = "shareit.test.postgres.url", matches = ".+")
+class ApprovedOverlapMigrationTest {
+    private static final String URL = System.getProperty("shareit.test.postgres.url");
+    private static final String USER = System.getProperty("shareit.test.postgres.user", "shareIt_user");
+    private static final String PASSWORD = System.getProperty("shareit.test.postgres.password", "shareItPassword");
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 12, 0);
+    private final String schema = "overlap_migration_" + System.nanoTime();
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("drop schema if exists " + schema + " cascade");
+        }
+    }
+
+    @Test
+    void overlappingApprovedBookingsFailTheMigration() throws SQLException {
+        flyway("2").migrate();
+        long first;
+        long second;
+        try (Connection connection = connect()) {
+            long item = item(connection);
+            first = booking(connection, item, BASE, BASE.plusDays(2), "APPROVED");
+            second = booking(connection, item, BASE.plusDays(1), BASE.plusDays(3), "APPROVED");
+            booking(connection, item, BASE.plusDays(1), BASE.plusDays(3), "REJECTED");
+        }
+
+        assertThatThrownBy(() -> flyway(null).migrate())
+                .isInstanceOf(FlywayException.class)
+                .hasMessageContaining("booking " + first + " overlaps booking " + second);
+
+        try (Connection connection = connect(); Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(
+                     "select count(*) from bookings where status = 'APPROVED'")) {
+            resultSet.next();
+            assertThat(resultSet.getLong(1)).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void constraintRejectsNewOverlapsAfterMigration() throws SQLException {
+        flyway("2").migrate();
+        try (Connection connection = connect()) {
+            long item = item(connection);
+            booking(connection, item, BASE, BASE.plusDays(1), "APPROVED");
+            booking(connection, item, BASE.plusDays(1), BASE.plusDays(2), "APPROVED");
+            booking(connection, item, BASE, BASE.plusDays(2), "WAITING");
+        }
+
+        flyway(null).migrate();
+
+        try (Connection connection = connect()) {
+            long item = item(connection);
+            booking(connection, item, BASE, BASE.plusDays(1), "APPROVED");
+            assertThatThrownBy(() -> booking(connection, item, BASE.plusHours(12), BASE.plusDays(1), "APPROVED"))
+                    .isInstanceOf(SQLException.class)
+                    .hasMessageContaining("ex_bookings_approved_overlap");
+        }
+    }
+
+    private Flyway flyway(String target) {
+        return Flyway.configure()
+                .dataSource(URL, USER, PASSWORD)
+                .schemas(schema)
+                .locations("classpath:db/migration", "classpath:db/vendor/postgresql")
+                .target(target == null ? "latest" : target)
+                .load();
+    }
+
+    private Connection connect() throws SQLException {
+        Connection connection = DriverManager.getConnection(URL, USER, PASSWORD);
+        if (schemaExists(connection)) {
+            connection.setSchema(schema);
+        }
+        return connection;
+    }
+
+    private boolean schemaExists(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "select 1 from information_schema.schemata where schema_name = ?")) {
+            statement.setString(1, schema);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next();
+            }
+        }
+    }
+
+    private static long item(Connection connection) throws SQLException {
+        long owner = insert(connection, "insert into users (user_name, email) values (?, ?) returning user_id",
+                "owner", "owner" + System.nanoTime() + "@email.com");
+        return insert(connection, "insert into items (item_name, description, owner_id, available) "
+                + "values (?, ?, ?, true) returning item_id", "item", "description", owner);
+    }
+
+    private static long booking(Connection connection, long item, LocalDateTime start, LocalDateTime end,
+                                String status) throws SQLException {
+        long booker = insert(connection, "insert into users (user_name, email) values (?, ?) returning user_id",
+                "booker", "booker" + System.nanoTime() + "@email.com");
+        return insert(connection, "insert into bookings (start_date, end_date, booker_id, item_id, status) "
+                + "values (?, ?, ?, ?, ?) returning booking_id", start, end, booker, item, status);
+    }
+
+    private static long insert(Connection connection, String sql, Object... parameters) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getLong(1);
+            }
+        }
+    }
+}
@@ -16,8 +16,6 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
-import static org.assertj.core.api.Assertions.assertThat;
-
 @DataJpaTest
 class BookingStorageTest {
 
@@ -133,21 +131,6 @@ class BookingStorageTest {
                 .contains(booking3);
     }
 
-    @Test
-    void reservedForDates() {
-        boolean reserved = bookingStorage.reservedForDates(booking1.getItem().getId(), booking1.getStart(),
-                booking1.getEnd(), BookingStatus.APPROVED);
-        assertThat(reserved).isFalse();
-
-        reserved = bookingStorage.reservedForDates(booking2.getItem().getId(), booking2.getStart().minusMonths(1),
-                booking2.getEnd().minusDays(20), BookingStatus.APPROVED);
-        assertThat(reserved).isTrue();
-
-        reserved = bookingStorage.reservedForDates(booking3.getItem().getId(), booking3.getStart().plusMonths(2),
-                booking3.getEnd().plusMonths(3), BookingStatus.APPROVED);
-        assertThat(reserved).isFalse();
-    }
-
     @Test
     void findLastBooking() {
         Optional<Booking> lastBooking1 = bookingStorage.findLastBooking(booking1.getItem().getId(),
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.exception;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DomainExceptionTest {
+
+    @Test
+    void domainExceptionsDoNotCaptureStackTrace() {
+        NotFoundException e = new NotFoundException("Вещь с id - 1 не найдена");
+
+        assertThat(e.getMessage()).isEqualTo("Вещь с id - 1 не найдена");
+        assertThat(e.getStackTrace()).isEmpty();
+    }
+
+    @Test
+    void domainExceptionsIgnoreStackTraceAndSuppressed() {
+        UnavailableItemException e = new UnavailableItemException("Вещь недоступна");
+
+        e.setStackTrace(new StackTraceElement[]{new StackTraceElement("A", "b", "A.java", 1)});
+        e.addSuppressed(new IllegalStateException());
+
+        assertThat(e.getStackTrace()).isEmpty();
+        assertThat(e.getSuppressed()).isEmpty();
+    }
+}
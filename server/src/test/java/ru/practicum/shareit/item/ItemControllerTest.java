@@ -18,13 +18,19 @@ import ru.practicum.shareit.item.comment.dto.CommentDto;
 import ru.practicum.shareit.item.comment.dto.CommentDtoInfo;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoInfo;
+import ru.practicum.shareit.item.dto.ItemImportResult;
+import ru.practicum.shareit.item.dto.ItemImportRow;
 import ru.practicum.shareit.item.service.ItemService;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
 
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.core.Is.is;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
@@ -80,6 +86,66 @@ class ItemControllerTest {
         verifyNoMoreInteractions(service);
     }
 
+    @Test
+    void importItemsFromJsonArray() throws Exception {
+        when(service.importItems(any(), anyLong())).thenAnswer(invocation -> drain(invocation.getArgument(0)));
+
+        mockMvc.perform(post("/items/import")
+                        .header("X-Sharer-User-Id", "1")
+                        .content(mapper.writeValueAsString(List.of(itemDto, itemDto)))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(2)))
+                .andExpect(jsonPath("$.errors", hasSize(0)));
+
+        verify(service, times(1))
+                .importItems(any(), eq(1L));
+    }
+
+    @Test
+    void importItemsFromJsonArrayReportsInvalidElements() throws Exception {
+        when(service.importItems(any(), anyLong())).thenAnswer(invocation -> drain(invocation.getArgument(0)));
+        String body = "[" + mapper.writeValueAsString(itemDto) + ", {\"available\": [1]}, "
+                + mapper.writeValueAsString(itemDto) + ", {\"name\": ";
+
+        mockMvc.perform(post("/items/import")
+                        .header("X-Sharer-User-Id", "1")
+                        .content(body)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(2)))
+                .andExpect(jsonPath("$.errors", hasSize(2)))
+                .andExpect(jsonPath("$.errors[0].row", is(2)))
+                .andExpect(jsonPath("$.errors[1].row", is(4)));
+
+        verify(service, times(1))
+                .importItems(any(), eq(1L));
+    }
+
+    @Test
+    void importItemsFromNdjson() throws Exception {
+        when(service.importItems(any(), anyLong())).thenAnswer(invocation -> drain(invocation.getArgument(0)));
+        String body = mapper.writeValueAsString(itemDto) + "\n"
+                + "\n"
+                + "{\"name\": \n"
+                + mapper.writeValueAsString(itemDto) + "\n";
+
+        mockMvc.perform(post("/items/import")
+                        .header("X-Sharer-User-Id", "1")
+                        .content(body)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(2)))
+                .andExpect(jsonPath("$.errors", hasSize(1)))
+                .andExpect(jsonPath("$.errors[0].row", is(2)));
+
+        verify(service, times(1))
+                .importItems(any(), eq(1L));
+    }
+
     @Test
     void getAllByUser() throws Exception {
         when(service.getAllByUser(anyLong(), anyInt(), anyInt())).thenReturn(Collections.emptyList());
@@ -230,4 +296,19 @@ class ItemControllerTest {
         verify(service, times(1))
                 .searchItem("text", 1L, 1, 1);
     }
-}
\ No newline at end of file
+
+    private static ItemImportResult drain(Iterator<ItemImportRow> rows) {
+        ItemImportResult result = new ItemImportResult();
+        int row = 0;
+        while (rows.hasNext()) {
+            ItemImportRow next = rows.next();
+            row++;
+            if (next.getError() != null) {
+                result.getErrors().add(new ItemImportResult.RowError(row, next.getError()));
+            } else {
+                result.setImported(result.getImported() + 1);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,90 @@
+package ru.practicum.shareit.item.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.dto.ItemDtoInfo;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemDetailsCacheTest {
+
+    private ItemDetailsCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ItemDetailsCache(100, Duration.ofMinutes(5));
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void getSelectsViewByOwner() {
+        ItemDetails details = cache.get(1L, loader(null));
+
+        assertThat(details.forUser(1L).getLastBooking()).isNotNull();
+        assertThat(details.forUser(2L).getLastBooking()).isNull();
+        assertThat(details.forUser(2L).getComments()).isEqualTo(details.forUser(1L).getComments());
+    }
+
+    @Test
+    void getLoadsOncePerItem() {
+        cache.get(1L, loader(null));
+        cache.get(1L, loader(null));
+        cache.get(2L, loader(null));
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void evictOutsideTransactionDropsEntryImmediately() {
+        cache.get(1L, loader(null));
+
+        cache.evict(1L);
+        cache.get(1L, loader(null));
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void entryExpiresAtBookingBoundary() {
+        cache.get(1L, loader(LocalDateTime.now().minusSeconds(1)));
+        cache.get(1L, loader(LocalDateTime.now().plusDays(1)));
+        cache.get(1L, loader(LocalDateTime.now().plusDays(1)));
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void bindToRegistersCacheMetrics() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+
+        cache.get(1L, loader(null));
+        cache.get(1L, loader(null));
+
+        FunctionCounter hits = registry.find("cache.gets")
+                .tags("cache", ItemDetailsCache.CACHE_NAME, "result", "hit")
+                .functionCounter();
+        assertThat(hits).isNotNull();
+        assertThat(hits.count()).isEqualTo(1);
+    }
+
+    private Function<Long, ItemDetails> loader(LocalDateTime validUntil) {
+        return id -> {
+            loads.incrementAndGet();
+            ItemDtoInfo.Booking booking = new ItemDtoInfo.Booking(1L, 2L);
+            return new ItemDetails(1L,
+                    new ItemDtoInfo(id, "item", "description", true, booking, null, new ArrayList<>()),
+                    new ItemDtoInfo(id, "item", "description", true, null, null, new ArrayList<>()),
+                    validUntil);
+        };
+    }
+}
@@ -0,0 +1,118 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.item.dto.ItemSearchView;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.ItemStorage;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemSearchIndexTest {
+
+    @Mock
+    private ItemStorage storage;
+    private ItemSearchIndex index;
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        index = new ItemSearchIndex(storage);
+        owner = new User(1L, "user", "user@email.com");
+    }
+
+    @Test
+    void searchIsCaseInsensitiveAndStemmed() {
+        index.index(new Item(1L, "Дрель", "Простая дрель", owner, true));
+        index.index(new Item(2L, "Отвертка", "Аккумуляторная отвертка", owner, true));
+        index.index(new Item(3L, "Drills", "Cordless drill with batteries", owner, true));
+
+        assertThat(index.search("дРелЬ", 0, 10)).containsExactly(1L);
+        assertThat(index.search("дрелью", 0, 10)).containsExactly(1L);
+        assertThat(index.search("аккУМУляторная", 0, 10)).containsExactly(2L);
+        assertThat(index.search("аккумулятор", 0, 10)).containsExactly(2L);
+        assertThat(index.search("DRILL", 0, 10)).containsExactly(3L);
+        assertThat(index.search("battery", 0, 10)).containsExactly(3L);
+    }
+
+    @Test
+    void searchRequiresAllTerms() {
+        index.index(new Item(1L, "Дрель", "Простая дрель", owner, true));
+        index.index(new Item(2L, "Дрель", "Ударная дрель", owner, true));
+
+        assertThat(index.search("дрель", 0, 10)).containsExactly(1L, 2L);
+        assertThat(index.search("ударная дрель", 0, 10)).containsExactly(2L);
+        assertThat(index.search("ударная пила", 0, 10)).isEmpty();
+        assertThat(index.search("  ,.!", 0, 10)).isEmpty();
+    }
+
+    @Test
+    void searchWithPagination() {
+        index.index(new Item(3L, "item", "description", owner, true));
+        index.index(new Item(1L, "item", "description", owner, true));
+        index.index(new Item(2L, "item", "description", owner, true));
+
+        assertThat(index.search("item", 0, 2)).containsExactly(1L, 2L);
+        assertThat(index.search("item", 1, 2)).containsExactly(3L);
+        assertThat(index.search("item", 2, 2)).isEmpty();
+    }
+
+    @Test
+    void indexUpdatesAndRemovesItems() {
+        Item item = new Item(1L, "Дрель", "Простая дрель", owner, true);
+        index.index(item);
+
+        item.setName("Пила");
+        item.setDescription("Ручная пила");
+        index.index(item);
+        assertThat(index.search("дрель", 0, 10)).isEmpty();
+        assertThat(index.search("пила", 0, 10)).containsExactly(1L);
+
+        item.setAvailable(false);
+        index.index(item);
+        assertThat(index.search("пила", 0, 10)).isEmpty();
+
+        item.setAvailable(true);
+        index.index(item);
+        index.remove(item.getId());
+        assertThat(index.search("пила", 0, 10)).isEmpty();
+    }
+
+    @Test
+    void warmUp() {
+        when(storage.findAllAvailableForSearch()).thenReturn(List.of(view(1L, "Дрель", "Простая дрель")));
+
+        index.warmUp();
+
+        assertThat(index.search("дрель", 0, 10)).containsExactly(1L);
+        verify(storage, times(1))
+                .findAllAvailableForSearch();
+    }
+
+    private static ItemSearchView view(Long id, String name, String description) {
+        return new ItemSearchView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public String getDescription() {
+                return description;
+            }
+        };
+    }
+}
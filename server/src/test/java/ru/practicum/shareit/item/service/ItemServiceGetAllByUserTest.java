@@ -0,0 +1,110 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.storage.BookingStorage;
+import ru.practicum.shareit.item.comment.Comment;
+import ru.practicum.shareit.item.comment.CommentStorage;
+import ru.practicum.shareit.item.dto.ItemDtoInfo;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.ItemStorage;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.storage.UserStorage;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Transactional
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true",
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ItemServiceGetAllByUserTest {
+
+    private static final int ITEMS_COUNT = 20;
+    private final EntityManager em;
+    private final ItemService service;
+    private final ItemStorage itemStorage;
+    private final UserStorage userStorage;
+    private final BookingStorage bookingStorage;
+    private final CommentStorage commentStorage;
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = userStorage.save(new User(
+                null,
+                "owner",
+                "owner@email.com"));
+        User booker = userStorage.save(new User(
+                null,
+                "booker",
+                "booker@email.com"));
+        for (int i = 0; i < ITEMS_COUNT; i++) {
+            Item item = itemStorage.save(new Item(
+                    null,
+                    "item" + i,
+                    "description",
+                    owner,
+                    true));
+            bookingStorage.save(new Booking(
+                    null,
+                    LocalDateTime.now().minusMonths(2).withNano(0),
+                    LocalDateTime.now().minusMonths(1).withNano(0),
+                    item,
+                    booker,
+                    BookingStatus.APPROVED));
+            bookingStorage.save(new Booking(
+                    null,
+                    LocalDateTime.now().plusMonths(1).withNano(0),
+                    LocalDateTime.now().plusMonths(2).withNano(0),
+                    item,
+                    booker,
+                    BookingStatus.APPROVED));
+            commentStorage.save(new Comment(
+                    null,
+                    "comment" + i,
+                    item,
+                    booker,
+                    LocalDateTime.now().withNano(0)));
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void getAllByUserQueryCountDoesNotDependOnPageSize() {
+        Statistics statistics = em.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+
+        statistics.clear();
+        List<ItemDtoInfo> onePage = service.getAllByUser(owner.getId(), 0, 1);
+        long onePageQueries = statistics.getPrepareStatementCount();
+        em.clear();
+
+        statistics.clear();
+        List<ItemDtoInfo> fullPage = service.getAllByUser(owner.getId(), 0, ITEMS_COUNT);
+        long fullPageQueries = statistics.getPrepareStatementCount();
+
+        assertThat(onePage).hasSize(1);
+        assertThat(fullPage).hasSize(ITEMS_COUNT)
+                .allSatisfy(item -> {
+                    assertThat(item.getLastBooking()).isNotNull();
+                    assertThat(item.getNextBooking()).isNotNull();
+                    assertThat(item.getComments()).hasSize(1);
+                });
+        assertThat(fullPageQueries).isEqualTo(onePageQueries)
+                .isLessThanOrEqualTo(6);
+    }
+}
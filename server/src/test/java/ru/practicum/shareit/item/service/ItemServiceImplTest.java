@@ -6,9 +6,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.dto.ItemBookingView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.storage.BookingStorage;
+import ru.practicum.shareit.item.cache.ItemDetailsCache;
 import ru.practicum.shareit.item.comment.Comment;
 import ru.practicum.shareit.item.comment.CommentStorage;
 import ru.practicum.shareit.item.comment.dto.CommentDto;
@@ -18,12 +20,14 @@ import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoInfo;
 import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.item.storage.ItemStorage;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.storage.ItemRequestStorage;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.storage.UserStorage;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -32,6 +36,7 @@ import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
@@ -49,6 +54,8 @@ class ItemServiceImplTest {
     private CommentStorage commentStorage;
     @Mock
     private ItemRequestStorage itemRequestStorage;
+    @Mock
+    private ItemSearchIndex searchIndex;
     private Item item;
     private User owner;
     private User author;
@@ -60,7 +67,8 @@ class ItemServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        service = new ItemServiceImpl(storage, userStorage, bookingStorage, commentStorage, itemRequestStorage);
+        service = new ItemServiceImpl(storage, userStorage, bookingStorage, commentStorage, itemRequestStorage,
+                searchIndex, new ItemDetailsCache(100, Duration.ofMinutes(5)));
         owner = new User(1L,
                 "user1",
                 "user1@email.com");
@@ -170,6 +178,8 @@ class ItemServiceImplTest {
                 .findByIdAndOwnerId(item.getId(), owner.getId());
         verify(storage, times(1))
                 .save(updatedItem);
+        verify(searchIndex, times(1))
+                .index(updatedItem);
     }
 
     @Test
@@ -194,62 +204,142 @@ class ItemServiceImplTest {
                 .findAllByItemId(item.getId());
     }
 
+    @Test
+    void getForOtherUserHasNoBookings() {
+        when(storage.findById(anyLong())).thenReturn(Optional.of(item));
+        when(bookingStorage.findLastBooking(anyLong(), any(), anyLong())).thenReturn(Optional.of(lastBooking));
+        when(bookingStorage.findNextBooking(anyLong(), any(), anyLong())).thenReturn(Optional.of(nextBooking));
+        when(commentStorage.findAllByItemId(anyLong())).thenReturn(Collections.singletonList(comment));
+
+        final ItemDtoInfo itemDtoInfo = service.get(item.getId(), author.getId());
+
+        assertThat(itemDtoInfo).isNotNull().isEqualTo(ItemMapper.convertToItemDtoInfo(item, (Booking) null, null,
+                Collections.singletonList(comment)));
+
+        verify(bookingStorage, times(1))
+                .findLastBooking(eq(item.getId()), any(), eq(owner.getId()));
+    }
+
+    @Test
+    void getServedFromCacheUntilEvicted() {
+        when(storage.findById(anyLong())).thenReturn(Optional.of(item));
+        when(commentStorage.findAllByItemId(anyLong())).thenReturn(Collections.singletonList(comment));
+        when(bookingStorage.findByItemIdAndBookerIdAndStatusAndEndBefore(anyLong(), anyLong(), any(), any()))
+                .thenReturn(Collections.singletonList(lastBooking));
+        when(userStorage.findById(anyLong())).thenReturn(Optional.of(author));
+
+        service.get(item.getId(), owner.getId());
+        service.get(item.getId(), author.getId());
+        service.get(item.getId(), owner.getId());
+
+        verify(commentStorage, times(1))
+                .findAllByItemId(item.getId());
+
+        service.saveComment(item.getId(), CommentMapper.convertToCommentDto(comment), author.getId());
+        service.get(item.getId(), owner.getId());
+
+        verify(commentStorage, times(2))
+                .findAllByItemId(item.getId());
+    }
+
     @Test
     void getAllByUser() {
         List<Item> items = new ArrayList<>(Collections.singletonList(item));
 
         when(userStorage.existsById(anyLong())).thenReturn(true);
         when(storage.findAllByOwnerId(anyLong(), any())).thenReturn(items);
-        when(bookingStorage.findLastBooking(anyLong(), any(), anyLong())).thenReturn(Optional.of(lastBooking));
-        when(bookingStorage.findNextBooking(anyLong(), any(), anyLong())).thenReturn(Optional.empty());
+        when(bookingStorage.findLastBookings(anyCollection(), any(), anyLong()))
+                .thenReturn(Collections.singletonList(toView(lastBooking)));
+        when(bookingStorage.findNextBookings(anyCollection(), any(), anyLong())).thenReturn(Collections.emptyList());
 
         List<ItemDtoInfo> itemDtoInfos = service.getAllByUser(owner.getId(), 1, 1);
         Assertions.assertThat(itemDtoInfos).hasSize(1)
                 .containsExactly(ItemMapper.convertToItemDtoInfo(items.get(0), lastBooking, null,
                         Collections.emptyList()));
 
-        when(bookingStorage.findLastBooking(anyLong(), any(), anyLong())).thenReturn(Optional.empty());
-        when(bookingStorage.findNextBooking(anyLong(), any(), anyLong())).thenReturn(Optional.of(nextBooking));
+        when(bookingStorage.findLastBookings(anyCollection(), any(), anyLong())).thenReturn(Collections.emptyList());
+        when(bookingStorage.findNextBookings(anyCollection(), any(), anyLong()))
+                .thenReturn(Collections.singletonList(toView(nextBooking)));
+        when(commentStorage.findAllByItemIdIn(anyCollection())).thenReturn(Collections.singletonList(comment));
 
         List<ItemDtoInfo> itemDtoInfos2 = service.getAllByUser(owner.getId(), 1, 1);
         Assertions.assertThat(itemDtoInfos2).hasSize(1)
                 .containsExactly(ItemMapper.convertToItemDtoInfo(items.get(0), null, nextBooking,
-                        Collections.emptyList()));
+                        Collections.singletonList(comment)));
 
         verify(userStorage, times(2))
                 .existsById(owner.getId());
         verify(bookingStorage, times(2))
-                .findLastBooking(anyLong(), any(), anyLong());
+                .findLastBookings(eq(List.of(item.getId())), any(), anyLong());
         verify(bookingStorage, times(2))
-                .findNextBooking(anyLong(), any(), anyLong());
+                .findNextBookings(anyCollection(), any(), anyLong());
         verify(commentStorage, times(2))
-                .findAllByItemId(item.getId());
+                .findAllByItemIdIn(List.of(item.getId()));
+        verify(bookingStorage, never())
+                .findLastBooking(anyLong(), any(), anyLong());
+        verify(commentStorage, never())
+                .findAllByItemId(anyLong());
         verify(storage, times(2))
                 .findAllByOwnerId(anyLong(), any());
     }
 
+    @Test
+    void getAllByUserWithoutItems() {
+        when(userStorage.existsById(anyLong())).thenReturn(true);
+        when(storage.findAllByOwnerId(anyLong(), any())).thenReturn(Collections.emptyList());
+
+        List<ItemDtoInfo> itemDtoInfos = service.getAllByUser(owner.getId(), 0, 10);
+        Assertions.assertThat(itemDtoInfos).isEmpty();
+
+        verify(bookingStorage, never())
+                .findLastBookings(anyCollection(), any(), anyLong());
+        verify(commentStorage, never())
+                .findAllByItemIdIn(anyCollection());
+    }
+
     @Test
     void delete() {
+        when(storage.deleteItemByIdAndOwnerId(anyLong(), anyLong())).thenReturn(1L);
+
         service.delete(1L, 1L);
 
         verify(storage, times(1))
                 .deleteItemByIdAndOwnerId(1L, 1L);
+        verify(searchIndex, times(1))
+                .remove(1L);
+    }
+
+    @Test
+    void deleteNotOwnItem() {
+        when(storage.deleteItemByIdAndOwnerId(anyLong(), anyLong())).thenReturn(0L);
+
+        service.delete(1L, 2L);
+
+        verify(storage, times(1))
+                .deleteItemByIdAndOwnerId(1L, 2L);
+        verify(searchIndex, never())
+                .remove(anyLong());
     }
 
     @Test
     void searchItem() {
-        List<Item> items = new ArrayList<>(Collections.singletonList(item));
+        Item unavailableItem = new Item(2L, "item", "description", owner, false);
 
         when(userStorage.existsById(anyLong())).thenReturn(true);
-        when(storage.findAllByNameOrDescriptionLike(anyString(), any())).thenReturn(items);
+        when(searchIndex.search(anyString(), anyInt(), anyInt())).thenReturn(List.of(2L, 1L));
+        when(storage.findAllById(any())).thenReturn(List.of(item, unavailableItem));
 
         List<ItemDto> itemsDto = service.searchItem("text", owner.getId(), 1, 1);
         Assertions.assertThat(itemsDto).hasSize(1)
-                .containsExactly(ItemMapper.convertToItemDto(items.get(0)));
+                .containsExactly(ItemMapper.convertToItemDto(item));
 
         verify(userStorage, times(1))
                 .existsById(owner.getId());
+        verify(searchIndex, times(1))
+                .search("text", 1, 1);
         verify(storage, times(1))
+                .findAllById(List.of(2L, 1L));
+        verify(storage, never())
                 .findAllByNameOrDescriptionLike(anyString(), any());
     }
 
@@ -262,8 +352,8 @@ class ItemServiceImplTest {
 
         verify(userStorage, times(1))
                 .existsById(owner.getId());
-        verify(storage, times(0))
-                .findAllByNameOrDescriptionLike(anyString(), any());
+        verify(searchIndex, never())
+                .search(anyString(), anyInt(), anyInt());
     }
 
     @Test
@@ -288,4 +378,23 @@ class ItemServiceImplTest {
         verify(bookingStorage, times(1))
                 .findByItemIdAndBookerIdAndStatusAndEndBefore(anyLong(), anyLong(), any(), any());
     }
-}
\ No newline at end of file
+
+    private static ItemBookingView toView(Booking booking) {
+        return new ItemBookingView() {
+            @Override
+            public Long getItemId() {
+                return booking.getItem().getId();
+            }
+
+            @Override
+            public Long getId() {
+                return booking.getId();
+            }
+
+            @Override
+            public Long getBookerId() {
+                return booking.getBooker().getId();
+            }
+        };
+    }
+}
@@ -0,0 +1,103 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResult;
+import ru.practicum.shareit.item.dto.ItemImportRow;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.ItemStorage;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.storage.ItemRequestStorage;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.storage.UserStorage;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ru.practicum.shareit.metrics.QueryCountAssertions.assertQueryCountAtMost;
+import static ru.practicum.shareit.metrics.QueryCountAssertions.resetQueryCount;
+
+@Transactional
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ItemServiceImportTest {
+
+    private static final int ITEMS_COUNT = 1200;
+    private final EntityManager em;
+    private final ItemService service;
+    private final ItemStorage itemStorage;
+    private final UserStorage userStorage;
+    private final ItemRequestStorage requestStorage;
+    private User owner;
+    private ItemRequest request;
+
+    @BeforeEach
+    void setUp() {
+        owner = userStorage.save(new User(null, "owner", "owner@email.com"));
+        User author = userStorage.save(new User(null, "author", "author@email.com"));
+        request = requestStorage.save(new ItemRequest(null, "request", author, LocalDateTime.now()));
+        em.flush();
+    }
+
+    @Test
+    void importsValidRowsAndReportsInvalidOnes() {
+        List<ItemImportRow> rows = List.of(
+                ItemImportRow.of(new ItemDto(null, "drill", "cordless drill", true)),
+                ItemImportRow.of(new ItemDto(null, " ", "no name", true)),
+                ItemImportRow.failed("Некорректный JSON"),
+                ItemImportRow.of(new ItemDto(null, "saw", "hand saw", false, request.getId())),
+                ItemImportRow.of(new ItemDto(null, "ladder", "tall ladder", true, 1000L)),
+                ItemImportRow.of(new ItemDto(null, "hammer", "hammer", null)),
+                ItemImportRow.of(new ItemDto(null, "x".repeat(256), "long name", true)),
+                ItemImportRow.of(new ItemDto(null, "rope", "x".repeat(1001), true)));
+
+        ItemImportResult result = service.importItems(rows.iterator(), owner.getId());
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting(ItemImportResult.RowError::getRow)
+                .containsExactly(2, 3, 5, 6, 7, 8);
+        List<Item> items = itemStorage.findAllByOwnerId(owner.getId(), Pageable.unpaged());
+        assertThat(items).extracting(Item::getName).containsExactlyInAnyOrder("drill", "saw");
+        assertThat(items).filteredOn(item -> item.getName().equals("saw"))
+                .allSatisfy(item -> assertThat(item.getRequest().getId()).isEqualTo(request.getId()));
+    }
+
+    @Test
+    void insertsInBatches() {
+        List<ItemImportRow> rows = new ArrayList<>(ITEMS_COUNT);
+        for (int i = 0; i < ITEMS_COUNT; i++) {
+            rows.add(ItemImportRow.of(new ItemDto(null, "item" + i, "description", true, request.getId())));
+        }
+
+        resetQueryCount();
+        ItemImportResult result = service.importItems(rows.iterator(), owner.getId());
+
+        assertThat(result.getImported()).isEqualTo(ITEMS_COUNT);
+        assertThat(result.getErrors()).isEmpty();
+        // owner check, then per chunk of 500 one request lookup, ten id blocks and ten insert batches at most
+        assertQueryCountAtMost(1 + 3 * (1 + 10 + 10));
+        assertThat(itemStorage.findAllByOwnerId(owner.getId(), Pageable.unpaged()).stream()
+                .map(Item::getId)
+                .collect(Collectors.toSet()))
+                .hasSize(ITEMS_COUNT);
+    }
+
+    @Test
+    void refusesUnknownOwner() {
+        List<ItemImportRow> rows = List.of(ItemImportRow.of(new ItemDto(null, "drill", "drill", true)));
+
+        assertThrows(NotFoundException.class, () -> service.importItems(rows.iterator(), 1000L));
+    }
+}
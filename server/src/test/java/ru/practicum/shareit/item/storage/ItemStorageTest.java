@@ -7,6 +7,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.item.dto.ItemOfferView;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -155,9 +156,22 @@ class ItemStorageTest {
     }
 
     @Test
-    void findAllByRequestId() {
-        List<Item> items = storage.findAllByRequestId(itemRequest.getId());
+    void findAllOffersByRequestIdIn() {
+        List<ItemOfferView> offers = storage.findAllOffersByRequestIdIn(List.of(itemRequest.getId()));
+
+        Assertions.assertThat(offers).hasSize(2);
+        Assertions.assertThat(offers).extracting(ItemOfferView::getId)
+                .containsExactly(item1.getId(), item2.getId());
+        Assertions.assertThat(offers).extracting(ItemOfferView::getRequestId)
+                .containsOnly(itemRequest.getId());
+        Assertions.assertThat(offers.get(0).getName()).isEqualTo(item1.getName());
+        Assertions.assertThat(offers.get(0).getAvailable()).isEqualTo(item1.getAvailable());
+    }
+
+    @Test
+    void findAllOffersByRequestIdInWhenNoOffers() {
+        List<ItemOfferView> offers = storage.findAllOffersByRequestIdIn(List.of(itemRequest.getId() + 100));
 
-        Assertions.assertThat(items).hasSize(2).contains(item1).contains(item2);
+        Assertions.assertThat(offers).isEmpty();
     }
 }
\ No newline at end of file
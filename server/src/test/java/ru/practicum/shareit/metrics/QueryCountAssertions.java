@@ -0,0 +1,29 @@
+package ru.practicum.shareit.metrics;
+
+import lombok.experimental.UtilityClass;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statement count checks for tests: call {@link #resetQueryCount()} right before the code under test,
+ * then assert how many SQL statements it needed. An N+1 regression turns into a failing assertion.
+ */
+@UtilityClass
+public class QueryCountAssertions {
+
+    public static void resetQueryCount() {
+        QueryCounter.reset();
+    }
+
+    public static void assertQueryCount(long expected) {
+        assertThat(QueryCounter.get())
+                .as("SQL statements executed")
+                .isEqualTo(expected);
+    }
+
+    public static void assertQueryCountAtMost(long max) {
+        assertThat(QueryCounter.get())
+                .as("SQL statements executed")
+                .isLessThanOrEqualTo(max);
+    }
+}
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.HandlerMapping;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.practicum.shareit.metrics.QueryCountAssertions.assertQueryCount;
+import static ru.practicum.shareit.metrics.QueryCountAssertions.resetQueryCount;
+
+@Transactional
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class QueryCountTest {
+
+    private final UserService userService;
+
+    @Test
+    void statementsPreparedByHibernateAreCounted() {
+        userService.save(new UserDto(null, "user", "user@email.com"));
+
+        resetQueryCount();
+        userService.getAll();
+
+        assertQueryCount(1);
+    }
+
+    @Test
+    void filterRecordsStatementsPerRequest() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        QueryCountFilter filter = new QueryCountFilter(registry, 2);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/items/1");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/items/{itemId}");
+        QueryCounter.increment();
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            QueryCounter.increment();
+            QueryCounter.increment();
+            QueryCounter.increment();
+        });
+
+        DistributionSummary queries = registry.find(QueryCountFilter.QUERIES_SUMMARY)
+                .tags("method", "GET", "uri", "/items/{itemId}")
+                .summary();
+        assertThat(queries).isNotNull();
+        assertThat(queries.count()).isEqualTo(1);
+        assertThat(queries.totalAmount()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,73 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Transactional
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ServiceMetricsAspectTest {
+
+    private final UserService service;
+    private final MeterRegistry registry;
+
+    @Test
+    void serviceCallsAreTimed() {
+        long before = serviceCalls("save", "none");
+
+        service.save(new UserDto(null, "user", "user@email.com"));
+
+        assertThat(serviceCalls("save", "none")).isEqualTo(before + 1);
+    }
+
+    @Test
+    void failedServiceCallsAreTaggedWithException() {
+        long before = serviceCalls("get", "NotFoundException");
+
+        assertThrows(NotFoundException.class, () -> service.get(100L));
+
+        assertThat(serviceCalls("get", "NotFoundException")).isEqualTo(before + 1);
+    }
+
+    @Test
+    void repositoryRowsAreCounted() {
+        service.save(new UserDto(null, "first", "first@email.com"));
+        service.save(new UserDto(null, "second", "second@email.com"));
+        int users = service.getAll().size();
+        DistributionSummary rows = findAllRows();
+        long callsBefore = rows.count();
+        double rowsBefore = rows.totalAmount();
+
+        service.getAll();
+
+        assertThat(rows.count()).isEqualTo(callsBefore + 1);
+        assertThat(rows.totalAmount()).isEqualTo(rowsBefore + users);
+    }
+
+    private long serviceCalls(String method, String exception) {
+        Timer timer = registry.find(ServiceMetricsAspect.SERVICE_TIMER)
+                .tags("service", "UserServiceImpl", "method", method, "exception", exception)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private DistributionSummary findAllRows() {
+        DistributionSummary rows = registry.find(ServiceMetricsAspect.REPOSITORY_ROWS)
+                .tags("repository", "UserStorage", "method", "findAll")
+                .summary();
+        assertThat(rows).isNotNull();
+        return rows;
+    }
+}
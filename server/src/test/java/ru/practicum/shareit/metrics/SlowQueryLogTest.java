@@ -0,0 +1,70 @@
+package ru.practicum.shareit.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.user.storage.UserStorage;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Transactional
+@SpringBootTest(properties = {"shareit.slow-query.threshold=0ms", "shareit.slow-query.explain=false"},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class SlowQueryLogTest {
+
+    private final SlowQueryLog slowQueryLog;
+    private final UserStorage userStorage;
+    private final DataSource dataSource;
+
+    @BeforeEach
+    void clearLog() {
+        slowQueryLog.clear();
+    }
+
+    @Test
+    void repositoryCallIsRecordedWithItsStatements() {
+        userStorage.findAll();
+
+        SlowQuery query = slowQueryLog.getAll().get(0);
+        assertThat(query.getRepository()).isEqualTo("UserStorage.findAll");
+        assertThat(query.getStatements()).hasSize(1);
+        assertThat(query.getStatements().get(0).getSql()).containsIgnoringCase("from users");
+    }
+
+    @Test
+    void parameterTypesAreRecordedInsteadOfValues() {
+        userStorage.findById(100L);
+
+        SlowQuery query = slowQueryLog.getAll().get(0);
+        assertThat(query.getRepository()).isEqualTo("UserStorage.findById");
+        assertThat(query.getRows()).isZero();
+        assertThat(query.getStatements().get(0).getParameterTypes()).containsExactly("Long");
+    }
+
+    @Test
+    void explainReturnsPlan() {
+        String plan = slowQueryLog.explain(
+                new CapturedStatement("select * from users where user_id = ?", List.of(1L), 0));
+
+        assertThat(plan).isNotBlank().doesNotStartWith("EXPLAIN failed");
+    }
+
+    @Test
+    void oldestQueriesAreDroppedBeyondCapacity() {
+        SlowQueryLog log = new SlowQueryLog(dataSource, 2, false);
+
+        log.record("first", 0, null, List.of());
+        log.record("second", 0, null, List.of());
+        log.record("third", 0, null, List.of());
+
+        assertThat(log.getAll()).extracting(SlowQuery::getRepository).containsExactly("third", "second");
+        log.shutdown();
+    }
+}
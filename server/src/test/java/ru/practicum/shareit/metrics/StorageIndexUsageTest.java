@@ -0,0 +1,115 @@
+package ru.practicum.shareit.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.GetAllBookingsRequest;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.storage.BookingStorage;
+import ru.practicum.shareit.item.comment.CommentStorage;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.ItemStorage;
+import ru.practicum.shareit.request.storage.ItemRequestStorage;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.storage.UserStorage;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Explains the statements the storages actually issue, as captured from the data source, so a changed query or
+ * a dropped index shows up here instead of in production.
+ */
+@Transactional
+@SpringBootTest(properties = "shareit.slow-query.explain=false", webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class StorageIndexUsageTest {
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    private final SlowQueryLog slowQueryLog;
+    private final BookingStorage bookingStorage;
+    private final BookingService bookingService;
+    private final ItemStorage itemStorage;
+    private final CommentStorage commentStorage;
+    private final ItemRequestStorage requestStorage;
+    private final UserStorage userStorage;
+    private final EntityManager em;
+    private User owner;
+    private User booker;
+
+    /**
+     * Listing bookings fails for a user without any, so one booking is stored for the listing calls.
+     */
+    @BeforeEach
+    void setUp() {
+        owner = userStorage.save(new User(null, "owner", "owner@email.com"));
+        booker = userStorage.save(new User(null, "booker", "booker@email.com"));
+        Item item = itemStorage.save(new Item(null, "item", "description", owner, true));
+        bookingStorage.save(new Booking(null, NOW.plusDays(1), NOW.plusDays(2), item, booker, BookingStatus.WAITING));
+        em.flush();
+    }
+
+    @Test
+    void bookingStorageQueriesUseIndexes() {
+        assertUsesIndexes(() -> bookingStorage.findByItemIdAndBookerIdAndStatusAndEndBefore(1L, 1L,
+                BookingStatus.APPROVED, NOW));
+        assertUsesIndexes(() -> bookingStorage.findAllIntervalsByItemIdIn(List.of(1L, 2L, 3L), NOW, NOW.plusDays(1),
+                BookingStatus.APPROVED));
+        assertUsesIndexes(() -> bookingStorage.findLastBooking(1L, NOW, 1L));
+        assertUsesIndexes(() -> bookingStorage.findNextBooking(1L, NOW, 1L));
+        assertUsesIndexes(() -> bookingStorage.findLastBookings(List.of(1L, 2L, 3L), NOW, 1L));
+        assertUsesIndexes(() -> bookingStorage.findNextBookings(List.of(1L, 2L, 3L), NOW, 1L));
+        assertUsesIndexes(() -> bookingStorage.findAllIntervalsByStatusAndEndAfter(BookingStatus.APPROVED, NOW));
+        assertUsesIndexes(() -> bookingService.getAll(
+                GetAllBookingsRequest.of(State.ALL, booker.getId(), false, 0, 10)));
+        assertUsesIndexes(() -> bookingService.getAll(
+                GetAllBookingsRequest.of(State.ALL, owner.getId(), true, 0, 10)));
+    }
+
+    @Test
+    void itemStorageQueriesUseIndexes() {
+        assertUsesIndexes(() -> itemStorage.findAllByOwnerId(1L, PageRequest.of(0, 10, Sort.by("id"))));
+        assertUsesIndexes(() -> itemStorage.findAllOffersByRequestIdIn(List.of(1L)));
+        assertUsesIndexes(() -> itemStorage.findByIdAndOwnerId(1L, 1L));
+    }
+
+    @Test
+    void commentStorageQueriesUseIndexes() {
+        assertUsesIndexes(() -> commentStorage.findAllByItemId(1L));
+        assertUsesIndexes(() -> commentStorage.findAllByItemIdIn(List.of(1L, 2L, 3L)));
+    }
+
+    @Test
+    void itemRequestStorageQueriesUseIndexes() {
+        assertUsesIndexes(() -> requestStorage.findAllByAuthorId(1L,
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "created"))));
+    }
+
+    private void assertUsesIndexes(Runnable call) {
+        CapturedStatements.start();
+        List<CapturedStatement> statements;
+        try {
+            call.run();
+        } finally {
+            statements = CapturedStatements.stop();
+        }
+        assertThat(statements).as("statements issued").isNotEmpty();
+        for (CapturedStatement statement : statements) {
+            String plan = slowQueryLog.explain(statement);
+            assertThat(plan).as(statement.getSql() + "\n" + plan)
+                    .doesNotStartWith("EXPLAIN failed")
+                    .doesNotContainIgnoringCase("tableScan");
+        }
+    }
+}
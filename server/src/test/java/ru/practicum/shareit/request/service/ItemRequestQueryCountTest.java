@@ -0,0 +1,70 @@
+package ru.practicum.shareit.request.service;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestDtoInfo;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.practicum.shareit.metrics.QueryCountAssertions.assertQueryCount;
+import static ru.practicum.shareit.metrics.QueryCountAssertions.resetQueryCount;
+
+@Transactional
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ItemRequestQueryCountTest {
+
+    private final EntityManager em;
+    private final UserService userService;
+    private final ItemService itemService;
+    private final ItemRequestService requestService;
+    private Long authorId;
+    private Long viewerId;
+
+    @BeforeEach
+    void setUp() {
+        authorId = userService.save(new UserDto(null, "author", "author@email.com")).getId();
+        viewerId = userService.save(new UserDto(null, "viewer", "viewer@email.com")).getId();
+        Long ownerId = userService.save(new UserDto(null, "owner", "owner@email.com")).getId();
+        for (int i = 0; i < 5; i++) {
+            Long requestId = requestService.save(new ItemRequestDto(null, "request" + i, null), authorId).getId();
+            itemService.save(new ItemDto(null, "item" + i, "description" + i, true, requestId), ownerId);
+        }
+        em.flush();
+    }
+
+    @Test
+    void getAllOtherUserDoesNotScaleWithPageSize() {
+        resetQueryCount();
+        List<ItemRequestDtoInfo> single = requestService.getAllOtherUser(viewerId, 0, 1);
+
+        assertThat(single).hasSize(1);
+        assertQueryCount(3);
+
+        resetQueryCount();
+        List<ItemRequestDtoInfo> page = requestService.getAllOtherUser(viewerId, 0, 5);
+
+        assertThat(page).hasSize(5).allSatisfy(request -> assertThat(request.getItems()).hasSize(1));
+        assertQueryCount(3);
+    }
+
+    @Test
+    void getOwnUsesOneOffersQueryPerPage() {
+        resetQueryCount();
+        List<ItemRequestDtoInfo> own = requestService.getOwn(authorId, 0, 5);
+
+        assertThat(own).hasSize(5);
+        assertQueryCount(3);
+    }
+}
@@ -9,6 +9,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemOfferView;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.storage.ItemStorage;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
@@ -27,6 +28,7 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.Mockito.*;
 import static ru.practicum.shareit.request.service.ItemRequestServiceImpl.SORT;
 
@@ -105,17 +107,19 @@ class ItemRequestServiceImplTest {
     @Test
     void getOwn() {
         when(userStorage.existsById(anyLong())).thenReturn(true);
-        when(itemStorage.findAllByRequestId(anyLong())).thenReturn(Collections.singletonList(item));
+        when(itemStorage.findAllOffersByRequestIdIn(anyCollection()))
+                .thenReturn(Collections.singletonList(toOffer(item)));
         when(storage.findAllByAuthorId(anyLong(), any())).thenReturn(Collections.singletonList(request));
 
         final List<ItemRequestDtoInfo> requests = service.getOwn(author.getId(),10, 10);
         Assertions.assertThat(requests).hasSize(1)
-                .contains(ItemRequestMapper.toItemRequestDtoInfo(request, Collections.singletonList(item)));
+                .contains(ItemRequestMapper.toItemRequestDtoInfo(request,
+                        Collections.singletonList(toOffer(item))));
 
         verify(userStorage, times(1))
                 .existsById(author.getId());
-        verify(itemStorage, atLeast(1))
-                .findAllByRequestId(request.getId());
+        verify(itemStorage, times(1))
+                .findAllOffersByRequestIdIn(List.of(request.getId()));
         verify(storage, times(1))
                 .findAllByAuthorId(author.getId(), PageRequest.of(10,10,SORT));
     }
@@ -138,17 +142,19 @@ class ItemRequestServiceImplTest {
     @Test
     void getAllPageable() {
         when(userStorage.existsById(anyLong())).thenReturn(true);
-        when(itemStorage.findAllByRequestId(anyLong())).thenReturn(Collections.singletonList(item));
+        when(itemStorage.findAllOffersByRequestIdIn(anyCollection()))
+                .thenReturn(Collections.singletonList(toOffer(item)));
         when(storage.findAllByAuthorIdNot(anyLong(), any())).thenReturn(Collections.singletonList(request));
 
         final List<ItemRequestDtoInfo> requests = service.getAllOtherUser(author.getId(), 10, 10);
         Assertions.assertThat(requests).hasSize(1)
-                .contains(ItemRequestMapper.toItemRequestDtoInfo(request, Collections.singletonList(item)));
+                .contains(ItemRequestMapper.toItemRequestDtoInfo(request,
+                        Collections.singletonList(toOffer(item))));
 
         verify(userStorage, times(1))
                 .existsById(author.getId());
         verify(itemStorage, times(1))
-                .findAllByRequestId(request.getId());
+                .findAllOffersByRequestIdIn(List.of(request.getId()));
         verify(storage, atLeast(1))
                 .findAllByAuthorIdNot(author.getId(), PageRequest.of(10, 10, SORT));
     }
@@ -156,17 +162,19 @@ class ItemRequestServiceImplTest {
     @Test
     void get() {
         when(userStorage.existsById(anyLong())).thenReturn(true);
-        when(itemStorage.findAllByRequestId(anyLong())).thenReturn(Collections.singletonList(item));
+        when(itemStorage.findAllOffersByRequestIdIn(anyCollection()))
+                .thenReturn(Collections.singletonList(toOffer(item)));
         when(storage.findById(anyLong())).thenReturn(Optional.of(request));
 
         ItemRequestDtoInfo requestDtoInfo = service.get(request.getId(), author.getId());
         assertThat(requestDtoInfo).isNotNull()
-                .isEqualTo(ItemRequestMapper.toItemRequestDtoInfo(request, Collections.singletonList(item)));
+                .isEqualTo(ItemRequestMapper.toItemRequestDtoInfo(request,
+                        Collections.singletonList(toOffer(item))));
 
         verify(userStorage, times(1))
                 .existsById(author.getId());
         verify(itemStorage, times(1))
-                .findAllByRequestId(request.getId());
+                .findAllOffersByRequestIdIn(List.of(request.getId()));
         verify(storage, times(1))
                 .findById(request.getId());
     }
@@ -188,4 +196,33 @@ class ItemRequestServiceImplTest {
         verify(storage, times(1))
                 .findById(1L);
     }
-}
\ No newline at end of file
+
+    private static ItemOfferView toOffer(Item item) {
+        return new ItemOfferView() {
+            @Override
+            public Long getId() {
+                return item.getId();
+            }
+
+            @Override
+            public String getName() {
+                return item.getName();
+            }
+
+            @Override
+            public String getDescription() {
+                return item.getDescription();
+            }
+
+            @Override
+            public Boolean getAvailable() {
+                return item.getAvailable();
+            }
+
+            @Override
+            public Long getRequestId() {
+                return item.getRequest().getId();
+            }
+        };
+    }
+}
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.user.storage;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.practicum.shareit.metrics.QueryCountAssertions.assertQueryCount;
+import static ru.practicum.shareit.metrics.QueryCountAssertions.resetQueryCount;
+
+/**
+ * Runs without a test transaction on purpose: every call gets its own session, so only the second-level
+ * cache can save a round trip.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class UserStorageCacheTest {
+
+    private final UserService userService;
+    private final UserStorage storage;
+    private final MeterRegistry registry;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = userService.save(new UserDto(null, "cached", "cached@email.com")).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (userId != null) {
+            userService.delete(userId);
+        }
+    }
+
+    @Test
+    void findByIdIsServedFromCache() {
+        double hitsBefore = cacheHits();
+        userService.get(userId);
+
+        resetQueryCount();
+        assertThat(userService.get(userId).getName()).isEqualTo("cached");
+        assertThat(storage.findById(userId)).isPresent();
+
+        assertQueryCount(0);
+        assertThat(cacheHits() - hitsBefore).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void existsByIdIsServedFromQueryCache() {
+        storage.existsById(userId);
+
+        resetQueryCount();
+        assertThat(storage.existsById(userId)).isTrue();
+        assertThat(storage.existsById(userId)).isTrue();
+
+        assertQueryCount(0);
+    }
+
+    @Test
+    void existsByIdSeesDeletedUser() {
+        assertThat(storage.existsById(userId)).isTrue();
+
+        Long deletedId = userId;
+        userId = null;
+        userService.delete(deletedId);
+
+        assertThat(storage.existsById(deletedId)).isFalse();
+    }
+
+    private double cacheHits() {
+        FunctionCounter hits = registry.find("hibernate.second.level.cache.requests")
+                .tags("region", "users", "result", "hit")
+                .functionCounter();
+        return hits == null ? 0 : hits.count();
+    }
+}
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.util;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.UpdateFailedException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PartialUpdateUtilsTest {
+
+    @Test
+    void applyUpdateOverwritesOnlyPresentFields() {
+        User user = new User(1L, "user", "user@mail.ru");
+
+        User updated = PartialUpdateUtils.applyUpdate(user, "{\"name\": \"updated\"}");
+
+        assertThat(updated).isSameAs(user);
+        assertThat(updated.getId()).isEqualTo(1L);
+        assertThat(updated.getName()).isEqualTo("updated");
+        assertThat(updated.getEmail()).isEqualTo("user@mail.ru");
+    }
+
+    @Test
+    void applyUpdateReusesReaderForEveryTarget() {
+        User first = PartialUpdateUtils.applyUpdate(new User(1L, "first", "first@mail.ru"),
+                "{\"email\": \"new@mail.ru\"}");
+        User second = PartialUpdateUtils.applyUpdate(new User(2L, "second", "second@mail.ru"),
+                "{\"name\": \"renamed\"}");
+
+        assertThat(first.getEmail()).isEqualTo("new@mail.ru");
+        assertThat(first.getName()).isEqualTo("first");
+        assertThat(second.getName()).isEqualTo("renamed");
+        assertThat(second.getEmail()).isEqualTo("second@mail.ru");
+    }
+
+    @Test
+    void applyUpdateKeepsIdVersionAndOwnerOfItem() {
+        User owner = new User(1L, "owner", "owner@mail.ru");
+        Item item = new Item(2L, "item", "description", owner, true);
+        item.setVersion(3L);
+
+        Item updated = PartialUpdateUtils.applyUpdate(item, "{\"id\": 20, \"version\": 30, "
+                + "\"owner\": {\"id\": 10}, \"name\": \"updated\"}");
+
+        assertThat(updated.getId()).isEqualTo(2L);
+        assertThat(updated.getVersion()).isEqualTo(3L);
+        assertThat(updated.getOwner()).isSameAs(owner);
+        assertThat(updated.getName()).isEqualTo("updated");
+    }
+
+    @Test
+    void applyUpdateKeepsIdOfUser() {
+        User user = PartialUpdateUtils.applyUpdate(new User(1L, "user", "user@mail.ru"),
+                "{\"id\": 10, \"email\": \"new@mail.ru\"}");
+
+        assertThat(user.getId()).isEqualTo(1L);
+        assertThat(user.getEmail()).isEqualTo("new@mail.ru");
+    }
+
+    @Test
+    void applyUpdateWithInvalidJson() {
+        User user = new User(1L, "user", "user@mail.ru");
+
+        UpdateFailedException thrown = assertThrows(UpdateFailedException.class,
+                () -> PartialUpdateUtils.applyUpdate(user, "{\"name\": "));
+
+        assertThat(thrown.getMessage()).isEqualTo("Не удалось обновить данные");
+        assertThat(user.getName()).isEqualTo("user");
+    }
+}